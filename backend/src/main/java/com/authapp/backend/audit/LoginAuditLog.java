@@ -0,0 +1,250 @@
+package com.authapp.backend.audit;
+
+import com.authapp.backend.entity.LoginEvent;
+import com.authapp.backend.entity.LoginEventType;
+import com.authapp.backend.repository.LoginEventRepository;
+import com.authapp.backend.service.UserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of logins, login failures, password changes and logouts, kept in {@code login_events}.
+ * Recording an event only enqueues it on a lock-free ring buffer; a single writer thread drains the
+ * buffer and inserts what it finds in one JDBC batch per transaction, so the request path never
+ * waits for the database. When the buffer is full the {@code overflow} policy decides: {@code DROP}
+ * discards the event and counts it in {@code login.audit.dropped}, {@code BLOCK} makes the caller
+ * wait until the writer has made room. A batch that fails to insert is retried with exponential
+ * backoff, up to {@code max-attempts} tries, while new events queue behind it; only then is it logged
+ * and counted as dropped. Events still queued when the process dies are lost.
+ * The writer thread starts once the bean is initialized and stops when it is destroyed.
+ */
+@Component
+@Slf4j
+public class LoginAuditLog {
+
+    /** Failure reasons stored in {@code login_events.reason}. */
+    public static final String USER_NOT_FOUND = "USER_NOT_FOUND";
+    public static final String ACCOUNT_DISABLED = "ACCOUNT_DISABLED";
+    public static final String BAD_CREDENTIALS = "BAD_CREDENTIALS";
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO login_events (user_id, email, type, reason, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * What to do with an event that finds the buffer full.
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    /**
+     * One keyset page of a user's events, newest first.
+     *
+     * @param nextBefore pass back as {@code before} for the following page; null on the last page
+     */
+    public record Page(List<LoginEvent> events, Long nextBefore) {
+
+        public boolean hasMore() {
+            return nextBefore != null;
+        }
+    }
+
+    private record Entry(Long userId, String email, LoginEventType type, String reason, LocalDateTime occurredAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginEventRepository loginEventRepository;
+    private final MpscRingBuffer<Entry> buffer;
+    private final OverflowPolicy overflow;
+    private final int batchSize;
+    private final long idleNanos;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public LoginAuditLog(JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         LoginEventRepository loginEventRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.login-audit.capacity:8192}") int capacity,
+                         @Value("${app.login-audit.batch-size:500}") int batchSize,
+                         @Value("${app.login-audit.overflow:DROP}") OverflowPolicy overflow,
+                         @Value("${app.login-audit.idle-ms:50}") long idleMillis,
+                         @Value("${app.login-audit.max-attempts:5}") int maxAttempts,
+                         @Value("${app.login-audit.retry-backoff-ms:100}") long retryBackoffMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.loginEventRepository = loginEventRepository;
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.overflow = overflow;
+        this.batchSize = Math.max(1, batchSize);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, idleMillis));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, retryBackoffMillis));
+        Gauge.builder("login.audit.queued", buffer, MpscRingBuffer::size)
+                .description("Audit events enqueued but not yet written")
+                .register(meterRegistry);
+        FunctionCounter.builder("login.audit.written", written, AtomicLong::get)
+                .description("Audit events written to the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("login.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit events lost to a full buffer, a failed write or shutdown")
+                .register(meterRegistry);
+        this.writer = new Thread(this::drainLoop, "login-audit-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Enqueue an audit event stamped with the current time.
+     *
+     * @param type what happened
+     * @param userId the user, or null if the email matched none
+     * @param email the email the request named
+     * @param reason why a failure failed, or null
+     */
+    public void record(LoginEventType type, Long userId, String email, String reason) {
+        if (email != null && email.length() > MAX_EMAIL_LENGTH) {
+            // One oversized value would fail the whole batch it lands in
+            email = email.substring(0, MAX_EMAIL_LENGTH);
+        }
+        Entry entry = new Entry(userId, email, type, reason, LocalDateTime.now());
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (buffer.offer(entry)) {
+            return;
+        }
+        if (overflow == OverflowPolicy.DROP) {
+            dropped.incrementAndGet();
+            return;
+        }
+        while (!buffer.offer(entry)) {
+            if (closed) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+    }
+
+    /**
+     * One page of a user's audit events, newest first.
+     *
+     * @param userId the user ID
+     * @param before ID of the last event of the previous page, or null for the first page
+     * @param size requested page size, clamped to 1..{@link UserService#MAX_PAGE_SIZE}
+     * @return the page
+     */
+    public Page findByUser(Long userId, Long before, int size) {
+        int limit = Math.max(1, Math.min(size, UserService.MAX_PAGE_SIZE));
+        // One row beyond the page tells whether another page follows without a count query
+        PageRequest window = PageRequest.ofSize(limit + 1);
+        List<LoginEvent> events = before == null
+                ? loginEventRepository.findByUserIdOrderByIdDesc(userId, window)
+                : loginEventRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, before, window);
+        if (events.size() <= limit) {
+            return new Page(events, null);
+        }
+        List<LoginEvent> page = events.subList(0, limit);
+        return new Page(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * Approximate number of events waiting for the writer.
+     */
+    public int queued() {
+        return buffer.size();
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (!closed || !buffer.isEmpty()) {
+            batch.clear();
+            buffer.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, idleNanos);
+            } else {
+                write(batch);
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            rows.add(new Object[]{entry.userId(), entry.email(), entry.type().name(), entry.reason(),
+                    Timestamp.valueOf(entry.occurredAt())});
+        }
+        long backoffNanos = retryBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_EVENT, rows));
+                written.addAndGet(rows.size());
+                log.debug("Wrote {} login audit events", rows.size());
+                return;
+            } catch (RuntimeException e) {
+                // Once shutting down there is no time left to wait out an outage
+                if (attempt >= maxAttempts || closed) {
+                    dropped.addAndGet(rows.size());
+                    log.error("Failed to write {} login audit events after {} attempts, dropping them: {}",
+                            rows.size(), attempt, e.getMessage());
+                    return;
+                }
+                log.warn("Failed to write {} login audit events, retrying in {} ms: {}",
+                        rows.size(), TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.getMessage());
+                pause(backoffNanos);
+                backoffNanos = Math.min(backoffNanos * 2, MAX_RETRY_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Wait out a retry backoff. Blocked producers unpark the writer, so a single park may return early.
+     */
+    private void pause(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0 && !closed; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        log.info("Login audit writer stopped with {} events written, {} dropped", written.get(), dropped.get());
+    }
+}
@@ -0,0 +1,119 @@
+package com.authapp.backend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring buffer.
+ * Each slot carries a sequence number: a producer claims position {@code p} with one CAS on the tail
+ * once its slot's sequence reads {@code p}, stores the element and publishes it by setting the
+ * sequence to {@code p + 1}; the consumer takes it and hands the slot back to the next lap by setting
+ * the sequence to {@code p + capacity}. Producers never wait on each other beyond a lost CAS, and a
+ * full buffer is reported rather than waited out, leaving the overflow policy to the caller.
+ * {@link #drain} must only ever be called from one thread at a time.
+ *
+ * @param <E> element type
+ */
+final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Consumer position; written by the single consumer, read by size()
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity requested capacity, rounded up to a power of two and to at least 2: with a single
+     *                 slot the sequence handed back to the next lap, {@code p + 1}, would read as published
+     */
+    MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        this.capacity = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Enqueue an element without blocking.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (lag < 0) {
+                // The slot still holds the element from the previous lap
+                return false;
+            }
+            // Otherwise another producer claimed this position first; retry with the new tail
+        }
+        slots.lazySet(index, element);
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Remove up to {@code limit} published elements in order and pass each to {@code consumer}.
+     * Stops early at a position that is claimed but not yet published.
+     *
+     * @return number of elements removed
+     */
+    int drain(Consumer<? super E> consumer, int limit) {
+        long position = head.get();
+        int drained = 0;
+        try {
+            while (drained < limit) {
+                int index = (int) position & mask;
+                if (sequences.get(index) != position + 1) {
+                    break;
+                }
+                E element = slots.get(index);
+                slots.lazySet(index, null);
+                sequences.lazySet(index, position + capacity);
+                position++;
+                drained++;
+                consumer.accept(element);
+            }
+        } finally {
+            head.lazySet(position);
+        }
+        return drained;
+    }
+
+    /**
+     * Approximate number of queued elements, including claimed but unpublished ones.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
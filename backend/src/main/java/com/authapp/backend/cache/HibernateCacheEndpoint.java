@@ -0,0 +1,66 @@
+package com.authapp.backend.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint {@code /actuator/hibernatecaches}: hits, misses, puts and hit ratio of every
+ * Hibernate second-level cache region, and totals for the natural ID and query caches.
+ * The same counters are published as {@code hibernate.*} Micrometer metrics; this adds the ratios.
+ * Counts stay at zero unless {@code hibernate.generate_statistics} is on.
+ */
+@Component
+@Endpoint(id = "hibernatecaches")
+public class HibernateCacheEndpoint {
+
+    private final Statistics statistics;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Usage of one cache.
+     *
+     * @param hitRatio hits over lookups, null before the first lookup
+     */
+    public record Usage(long hits, long misses, long puts, Double hitRatio) {
+
+        static Usage of(long hits, long misses, long puts) {
+            long lookups = hits + misses;
+            return new Usage(hits, misses, puts, lookups == 0 ? null : (double) hits / lookups);
+        }
+    }
+
+    /**
+     * @param regions usage per second-level cache region, by region name
+     * @param naturalId natural ID resolutions across all regions
+     * @param query cached query results across all regions
+     */
+    public record Report(Map<String, Usage> regions, Usage naturalId, Usage query) {
+    }
+
+    @ReadOperation
+    public Report caches() {
+        Map<String, Usage> regions = new TreeMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, Usage.of(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+        return new Report(regions,
+                Usage.of(statistics.getNaturalIdCacheHitCount(), statistics.getNaturalIdCacheMissCount(),
+                        statistics.getNaturalIdCachePutCount()),
+                Usage.of(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                        statistics.getQueryCachePutCount()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.authapp.backend.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution.
+ * The first caller for a key runs the loader on its own thread; callers that arrive while it is
+ * still running wait for and share its result (or its exception) instead of running it again.
+ * Nothing is retained once a load finishes, so this only deduplicates work that overlaps in time.
+ *
+ * @param <K> key type
+ * @param <V> result type; shared between callers, so it should be immutable
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Run the loader for this key, or join the call already in flight.
+     *
+     * @param key the key identifying the work
+     * @param loader the work to run if no call is in flight
+     * @return the loader's result
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Detach the in-flight call for a key so later callers start a fresh one.
+     * Callers already waiting still receive the detached call's result.
+     *
+     * @param key the key
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * @return number of calls currently in flight
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return total number of calls that joined another caller's execution
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
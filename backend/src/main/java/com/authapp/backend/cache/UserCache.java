@@ -0,0 +1,216 @@
+package com.authapp.backend.cache;
+
+import com.authapp.backend.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicted cache of {@link UserSnapshot}s keyed by user ID, with a secondary
+ * index from normalized email to ID.
+ * Emails are matched ignoring case, as the repository matches them. An email hit is only trusted if the
+ * snapshot it points to still carries that email, so a stale index entry left behind by an email change or
+ * eviction simply falls through to the database.
+ * Every eviction bumps an epoch; a load that overlapped an eviction is returned but not cached,
+ * so a reader racing a write can never re-cache the row it replaced.
+ * Concurrent misses for the same ID or normalized email share one database load through a {@link SingleFlight};
+ * an eviction detaches the in-flight load so callers arriving after a write never join a stale read.
+ * Waiters block until the shared load finishes, so callers should not hold a transaction (and with it
+ * a pooled connection) while looking up.
+ * Users are also held in Hibernate's second-level cache, which this cache loads through. Evicting a user
+ * evicts it from both, so a write that bypasses Hibernate needs only this one call to be seen by both.
+ * Hit, miss and eviction statistics are published to Micrometer as {@code cache.*{cache=users}}.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final Cache<Long, UserSnapshot> byId;
+    private final Cache<String, Long> idByEmail;
+    private final SingleFlight<Long, Optional<UserSnapshot>> loadsById = new SingleFlight<>();
+    private final SingleFlight<String, Optional<UserSnapshot>> loadsByEmail = new SingleFlight<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final EntityManagerFactory entityManagerFactory;
+
+    public UserCache(EntityManagerFactory entityManagerFactory,
+                     @Value("${app.user-cache.max-size:10000}") long maxSize,
+                     @Value("${app.user-cache.ttl-seconds:300}") long ttlSeconds,
+                     MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.email");
+        FunctionCounter.builder("cache.coalesced", loadsById, SingleFlight::coalescedCount)
+                .tag("cache", "users")
+                .description("Lookups that joined a load already in flight instead of querying")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.coalesced", loadsByEmail, SingleFlight::coalescedCount)
+                .tag("cache", "users.email")
+                .description("Lookups that joined a load already in flight instead of querying")
+                .register(meterRegistry);
+        log.info("User cache initialized with max size {} and ttl {}s", maxSize, ttlSeconds);
+    }
+
+    /**
+     * Normalize an email for use as a cache key, the same way the database lookup column is.
+     *
+     * @param email the email address
+     * @return trimmed, lower-cased email
+     */
+    public static String normalize(String email) {
+        return User.normalizeEmail(email);
+    }
+
+    /**
+     * Look up a user by ID, loading and caching it on a miss.
+     * Concurrent misses for the same ID run the loader once.
+     *
+     * @param id the user ID
+     * @param loader database lookup used on a miss
+     * @return Optional containing a detached copy of the user if found
+     */
+    public Optional<User> findById(Long id, Supplier<Optional<User>> loader) {
+        UserSnapshot snapshot = byId.getIfPresent(id);
+        if (snapshot != null) {
+            return Optional.of(snapshot.toUser());
+        }
+        return loadsById.execute(id, () -> load(loader)).map(UserSnapshot::toUser);
+    }
+
+    /**
+     * Look up a user by email, loading and caching it on a miss.
+     * Concurrent misses for the same email, in any case, run the loader once.
+     *
+     * @param email the email address
+     * @param loader database lookup used on a miss
+     * @return Optional containing a detached copy of the user if found
+     */
+    public Optional<User> findByEmail(String email, Supplier<Optional<User>> loader) {
+        UserSnapshot snapshot = snapshotByEmail(email);
+        if (snapshot != null) {
+            return Optional.of(snapshot.toUser());
+        }
+        return loadsByEmail.execute(normalize(email), () -> load(loader)).map(UserSnapshot::toUser);
+    }
+
+    /**
+     * Check whether a user with this email is cached.
+     *
+     * @param email the email address
+     * @return true if a cached snapshot proves the user exists; false means unknown
+     */
+    public boolean containsEmail(String email) {
+        return snapshotByEmail(email) != null;
+    }
+
+    /**
+     * Evict a user from this cache and from the second-level cache, now and again once the surrounding
+     * transaction commits, so a reader cannot re-cache the pre-commit row in between.
+     *
+     * @param id the user ID, may be null
+     * @param email the user's email, may be null
+     */
+    public void evict(Long id, String email) {
+        evictNow(id, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(id, email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every cached user.
+     */
+    public void clear() {
+        epoch.incrementAndGet();
+        byId.invalidateAll();
+        idByEmail.invalidateAll();
+    }
+
+    private UserSnapshot snapshotByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = normalize(email);
+        Long id = idByEmail.getIfPresent(normalized);
+        if (id == null) {
+            return null;
+        }
+        UserSnapshot snapshot = byId.getIfPresent(id);
+        if (snapshot == null || !normalize(snapshot.getEmail()).equals(normalized)) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return number of lookups that joined another caller's in-flight load instead of querying
+     */
+    public long coalescedLoads() {
+        return loadsById.coalescedCount() + loadsByEmail.coalescedCount();
+    }
+
+    private Optional<UserSnapshot> load(Supplier<Optional<User>> loader) {
+        long loadEpoch = epoch.get();
+        return loader.get().map(user -> put(user, loadEpoch));
+    }
+
+    private UserSnapshot put(User user, long loadEpoch) {
+        UserSnapshot snapshot = UserSnapshot.of(user);
+        if (epoch.get() == loadEpoch) {
+            byId.put(snapshot.getId(), snapshot);
+            idByEmail.put(normalize(snapshot.getEmail()), snapshot.getId());
+            // An eviction may have slipped in between the check and the put
+            if (epoch.get() != loadEpoch) {
+                byId.invalidate(snapshot.getId());
+            }
+        }
+        return snapshot;
+    }
+
+    private void evictNow(Long id, String email) {
+        epoch.incrementAndGet();
+        if (id != null) {
+            entityManagerFactory.getCache().evict(User.class, id);
+            loadsById.forget(id);
+            UserSnapshot previous = byId.getIfPresent(id);
+            byId.invalidate(id);
+            if (previous != null) {
+                String previousEmail = normalize(previous.getEmail());
+                loadsByEmail.forget(previousEmail);
+                idByEmail.invalidate(previousEmail);
+            }
+        }
+        if (email != null) {
+            String normalized = normalize(email);
+            loadsByEmail.forget(normalized);
+            idByEmail.invalidate(normalized);
+        }
+    }
+}
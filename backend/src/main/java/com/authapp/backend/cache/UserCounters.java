@@ -0,0 +1,288 @@
+package com.authapp.backend.cache;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.RoleMaskConverter;
+import com.authapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory user counts, total and per {@link Role}, so health checks and statistics never query.
+ * Seeded from the database at startup, then kept current by deltas that writers record before they
+ * touch the table; a transaction's deltas are applied once it commits and dropped on rollback.
+ * A periodic reconciliation recounts the table in one grouped query and replaces the counters, which
+ * corrects drift from writes that bypass the application. Writers never wait for it: the count runs
+ * outside the lock, and a transaction still in flight when it finishes commits after the count was
+ * taken, so its delta applies on top of the installed recount. Only a commit that lands while the
+ * count runs may or may not be in it; the commit sequence detects that, and the count is retried up
+ * to {@code recount-attempts} times before the reconciliation is left to the next run.
+ */
+@Component
+@DependsOn("roleMaskMigration")
+@Slf4j
+public class UserCounters {
+
+    private static final int TOTAL = 0;
+    private static final Role[] ROLES = Role.values();
+
+    private final UserRepository userRepository;
+    private final int recountAttempts;
+    // Held only for bookkeeping, never across a query; a lock rather than a monitor so virtual threads do not pin
+    private final ReentrantLock lock = new ReentrantLock();
+    // Held by the reconciliation alone, so two recounts never overlap
+    private final ReentrantLock recountLock = new ReentrantLock();
+    /** Total, then one count per role ordinal; replaced as a whole so readers see a consistent set. */
+    private volatile long[] counts = new long[1 + ROLES.length];
+    /** Commits begun since startup, advanced when a transaction with deltas starts completing; guarded by lock. */
+    private long commitSequence;
+    /** Transactions with deltas between starting to complete and applying or dropping them; guarded by lock. */
+    private int committing;
+
+    public UserCounters(UserRepository userRepository,
+                        @Value("${app.user-counters.recount-attempts:3}") int recountAttempts,
+                        MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.recountAttempts = Math.max(1, recountAttempts);
+        Gauge.builder("users.count", this, UserCounters::total)
+                .tag("role", "all")
+                .description("Users in the database, maintained in memory")
+                .register(meterRegistry);
+        for (Role role : ROLES) {
+            Gauge.builder("users.count", this, counters -> counters.count(role))
+                    .tag("role", role.name())
+                    .description("Users in the database, maintained in memory")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void seed() {
+        if (!reconcile()) {
+            log.warn("User counters seeded while writes were committing; reconciliation will correct them");
+        }
+    }
+
+    /**
+     * @return number of users
+     */
+    public long total() {
+        return counts[TOTAL];
+    }
+
+    /**
+     * @param role the role
+     * @return number of users holding the role
+     */
+    public long count(Role role) {
+        return counts[1 + role.ordinal()];
+    }
+
+    /**
+     * Record a user about to be inserted.
+     *
+     * @param roles the new user's roles
+     */
+    public void userCreated(Set<Role> roles) {
+        long[] delta = new long[counts.length];
+        add(delta, roles, 1);
+        record(delta);
+    }
+
+    /**
+     * Record a batch of users about to be inserted.
+     *
+     * @param roles each new user's roles
+     */
+    public void usersCreated(Collection<? extends Set<Role>> roles) {
+        long[] delta = new long[counts.length];
+        roles.forEach(userRoles -> add(delta, userRoles, 1));
+        record(delta);
+    }
+
+    /**
+     * Record a user about to be deleted.
+     *
+     * @param roles the deleted user's roles
+     */
+    public void userDeleted(Set<Role> roles) {
+        long[] delta = new long[counts.length];
+        add(delta, roles, -1);
+        record(delta);
+    }
+
+    /**
+     * Record a user's roles about to change.
+     *
+     * @param before the roles currently stored
+     * @param after the roles being stored
+     */
+    public void rolesChanged(Set<Role> before, Set<Role> after) {
+        if (before.equals(after)) {
+            return;
+        }
+        long[] delta = new long[counts.length];
+        before.forEach(role -> delta[1 + role.ordinal()]--);
+        after.forEach(role -> delta[1 + role.ordinal()]++);
+        record(delta);
+    }
+
+    /**
+     * Recount users from the database and replace the counters.
+     *
+     * @return true if the recount was installed, false if a commit overlapped every attempt
+     *         or another reconciliation is running
+     */
+    @Scheduled(initialDelayString = "${app.user-counters.reconcile-ms:300000}",
+               fixedDelayString = "${app.user-counters.reconcile-ms:300000}")
+    public boolean reconcile() {
+        if (!recountLock.tryLock()) {
+            return false;
+        }
+        try {
+            for (int attempt = 0; attempt < recountAttempts; attempt++) {
+                if (recount()) {
+                    return true;
+                }
+            }
+            log.debug("Skipping user count reconciliation: commits overlapped {} recounts", recountAttempts);
+            return false;
+        } finally {
+            recountLock.unlock();
+        }
+    }
+
+    private boolean recount() {
+        long sequence;
+        lock.lock();
+        try {
+            if (committing > 0) {
+                return false;
+            }
+            sequence = commitSequence;
+        } finally {
+            lock.unlock();
+        }
+
+        long[] actual = new long[counts.length];
+        for (Object[] row : userRepository.countGroupedByRoleMask()) {
+            add(actual, RoleMaskConverter.fromMask(((Number) row[0]).intValue()), ((Number) row[1]).longValue());
+        }
+
+        lock.lock();
+        try {
+            // A commit that started since the snapshot may or may not be in the count
+            if (commitSequence != sequence) {
+                return false;
+            }
+            // Every delta applied so far committed before the count, and every one still to come commits after
+            // it, so the counters and the recount differ only by writes that bypassed the application
+            if (!Arrays.equals(counts, actual)) {
+                log.warn("User counters drifted from the database: {} -> {}", describe(counts), describe(actual));
+            }
+            counts = actual;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(long[] delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                // The write follows, so treat it as a commit a recount in progress cannot place
+                commitSequence++;
+                apply(delta);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        // Later changes in the same transaction join its delta, which is read only once it completes
+        long[] transactionDelta = (long[]) TransactionSynchronizationManager.getResource(this);
+        if (transactionDelta != null) {
+            for (int i = 0; i < delta.length; i++) {
+                transactionDelta[i] += delta[i];
+            }
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, delta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean completing;
+
+            @Override
+            public void beforeCompletion() {
+                startCompleting();
+                completing = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(UserCounters.this);
+                if (!completing) {
+                    startCompleting();
+                }
+                complete(status == STATUS_COMMITTED ? delta : null);
+            }
+        });
+    }
+
+    private void startCompleting() {
+        lock.lock();
+        try {
+            commitSequence++;
+            committing++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(long[] delta) {
+        lock.lock();
+        try {
+            if (delta != null) {
+                apply(delta);
+            }
+            committing--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held
+    private void apply(long[] delta) {
+        long[] next = counts.clone();
+        for (int i = 0; i < next.length; i++) {
+            next[i] += delta[i];
+        }
+        counts = next;
+    }
+
+    private static void add(long[] counts, Set<Role> roles, long users) {
+        counts[TOTAL] += users;
+        for (Role role : roles) {
+            counts[1 + role.ordinal()] += users;
+        }
+    }
+
+    private static String describe(long[] counts) {
+        StringBuilder description = new StringBuilder("total=").append(counts[TOTAL]);
+        for (Role role : ROLES) {
+            description.append(", ").append(role.name()).append('=').append(counts[1 + role.ordinal()]);
+        }
+        return description.toString();
+    }
+}
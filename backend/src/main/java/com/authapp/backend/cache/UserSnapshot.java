@@ -0,0 +1,66 @@
+package com.authapp.backend.cache;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import lombok.Builder;
+import lombok.ToString;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable copy of a {@link User} row held by the {@link UserCache}.
+ * Callers never see a snapshot directly; they get a fresh detached entity from {@link #toUser()},
+ * so mutating a returned user can never corrupt the cache.
+ */
+@Value
+@Builder
+@ToString(exclude = "password")
+public class UserSnapshot {
+
+    Long id;
+    String email;
+    String password;
+    Set<Role> roles;
+    Boolean enabled;
+    Boolean accountNonExpired;
+    Boolean accountNonLocked;
+    Boolean credentialsNonExpired;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    LocalDateTime lastLoginAt;
+
+    public static UserSnapshot of(User user) {
+        return UserSnapshot.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .roles(Set.copyOf(user.getRoles()))
+                .enabled(user.getEnabled())
+                .accountNonExpired(user.getAccountNonExpired())
+                .accountNonLocked(user.getAccountNonLocked())
+                .credentialsNonExpired(user.getCredentialsNonExpired())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .lastLoginAt(user.getLastLoginAt())
+                .build();
+    }
+
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .password(password)
+                .roles(new HashSet<>(roles))
+                .enabled(enabled)
+                .accountNonExpired(accountNonExpired)
+                .accountNonLocked(accountNonLocked)
+                .credentialsNonExpired(credentialsNonExpired)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .lastLoginAt(lastLoginAt)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.authapp.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt work factor for this host at startup.
+ * Each extra round doubles the cost, so the calibrator walks up from a floor and keeps
+ * the highest strength whose verification still fits within the target latency.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int SAMPLES = 3;
+    private static final String PROBE_PASSWORD = "calibration-probe-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Find the strongest work factor whose verification takes no longer than the target.
+     * Never returns less than {@link #MIN_STRENGTH}, even on hardware too slow to meet the target.
+     *
+     * @param targetMillis target verification latency in milliseconds
+     * @return the calibrated BCrypt strength
+     */
+    public static int calibrate(long targetMillis) {
+        return calibrate(targetMillis, BCryptCostCalibrator::measure);
+    }
+
+    /**
+     * Same as {@link #calibrate(long)}, with the verification time of each strength supplied by the caller.
+     */
+    static int calibrate(long targetMillis, IntToLongFunction measure) {
+        int chosen = MIN_STRENGTH;
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            long elapsed = measure.applyAsLong(strength);
+            log.debug("BCrypt strength {} verifies in {} ms", strength, elapsed);
+            if (elapsed > targetMillis) {
+                break;
+            }
+            chosen = strength;
+            // The next round costs about twice as much; stop before it overshoots
+            if (elapsed * 2 > targetMillis) {
+                break;
+            }
+        }
+        log.info("Calibrated BCrypt strength {} for a {} ms verification target", chosen, targetMillis);
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(PROBE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(PROBE_PASSWORD, hash);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000L);
+        }
+        return best;
+    }
+}
@@ -2,6 +2,7 @@ package com.authapp.backend.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -14,6 +15,7 @@ import java.util.List;
 /**
  * CORS configuration for the application.
  * Allows frontend applications to communicate with the backend.
+ * The same rules are registered for whichever web stack runs, servlet or reactive.
  */
 @Configuration
 @Slf4j
@@ -32,7 +34,23 @@ public class CorsConfig {
     private boolean allowCredentials;
 
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public org.springframework.web.cors.reactive.CorsConfigurationSource reactiveCorsConfigurationSource() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+                new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+
+    private CorsConfiguration corsConfiguration() {
         log.info("Configuring CORS with origins: {}", allowedOrigins);
         
         CorsConfiguration configuration = new CorsConfiguration();
@@ -60,9 +78,6 @@ public class CorsConfig {
         configuration.addExposedHeader("Authorization");
         configuration.addExposedHeader("Content-Type");
         
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        
-        return source;
+        return configuration;
     }
 }
@@ -0,0 +1,37 @@
+package com.authapp.backend.config;
+
+import com.authapp.backend.security.LegacyPasswordMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password hashing configuration, shared by the servlet and reactive stacks.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Password encoder producing {@code {bcrypt}}-prefixed hashes.
+     * The work factor is fixed by {@code app.password.bcrypt.strength}, or calibrated at startup
+     * to {@code app.password.bcrypt.target-ms} when the strength is 0. Hashes with a lower cost,
+     * or without an {id} prefix (including legacy plaintext), report {@code upgradeEncoding}
+     * and are rehashed on next login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.password.bcrypt.strength:0}") int strength,
+                                           @Value("${app.password.bcrypt.target-ms:250}") long targetMillis) {
+        int resolvedStrength = strength > 0 ? strength : BCryptCostCalibrator.calibrate(targetMillis);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(resolvedStrength);
+        
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Values stored before the {id} prefix was introduced are raw BCrypt or legacy plaintext
+        encoder.setDefaultPasswordEncoderForMatches(new LegacyPasswordMatcher(bcrypt));
+        return encoder;
+    }
+}
@@ -0,0 +1,12 @@
+package com.authapp.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as session expiry.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,33 +1,73 @@
 package com.authapp.backend.config;
 
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.security.JwtAuthenticationFilter;
+import com.authapp.backend.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 /**
- * Basic Security Configuration for Part 2.
- * This will be expanded in Part 3 with JWT authentication.
+ * Security configuration for the servlet stack.
+ * Requests are authenticated statelessly from a bearer JWT by {@link JwtAuthenticationFilter};
+ * admin-only routes, which include every listing, search and export of users, require {@code ROLE_ADMIN}
+ * and everything else stays open. {@code POST /test/users} stays open for registration, but the controller
+ * refuses to grant any role beyond {@code ROLE_USER} to a caller without {@code ROLE_ADMIN}, so an admin
+ * account cannot be self-issued.
+ * Servlet stack only; the reactive profile configures WebFlux security in {@code ReactiveConfig}.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityConfig {
 
+    /**
+     * Routes only administrators may call, relative to the context path.
+     * Built once here rather than parsed from pattern strings as the chain is assembled.
+     */
+    static final RequestMatcher ADMIN_ONLY = new OrRequestMatcher(
+            antMatcher(HttpMethod.GET, "/test/users"),
+            antMatcher(HttpMethod.GET, "/test/users/search"),
+            antMatcher(HttpMethod.GET, "/test/users/autocomplete"),
+            antMatcher(HttpMethod.GET, "/test/users/export"),
+            antMatcher(HttpMethod.GET, "/test/users/role/*"),
+            antMatcher(HttpMethod.DELETE, "/test/users/**"),
+            antMatcher(HttpMethod.POST, "/test/users/import"),
+            antMatcher(HttpMethod.GET, "/test/users/*/login-events"),
+            antMatcher(HttpMethod.POST, "/test/init-data"));
+
     private final CorsConfigurationSource corsConfigurationSource;
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        log.info("Configuring basic security (no authentication for Part 2)");
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           JwtTokenProvider jwtTokenProvider,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.jwt.cache-size:10000}") int cacheSize,
+                                           @Value("${app.jwt.expiration}") long expirationMillis) throws Exception {
+        log.info("Configuring stateless JWT security");
         
         http
             // Disable CSRF for stateless API
@@ -40,10 +80,20 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             
-            // Configure authorization - permit all for Part 2 testing
+            // Build the security context from the bearer token alone
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, cacheSize,
+                    Duration.ofMillis(expirationMillis), meterRegistry),
+                UsernamePasswordAuthenticationFilter.class)
+            
+            // Answer 401 rather than 403 when a protected route is called without a valid token
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            
+            // Configure authorization - admin routes need ROLE_ADMIN, the rest is open. A streamed export resumes
+            // on an async dispatch that carries no token; its request was authorized when it was first dispatched
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/test/**").permitAll()
-                .requestMatchers("/api/h2-console/**").permitAll()
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers(ADMIN_ONLY).hasAuthority(Role.ROLE_ADMIN.name())
                 .anyRequest().permitAll()
             )
             
@@ -52,9 +102,4 @@ public class SecurityConfig {
         
         return http.build();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
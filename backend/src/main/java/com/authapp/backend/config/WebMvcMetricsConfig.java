@@ -0,0 +1,27 @@
+package com.authapp.backend.config;
+
+import com.authapp.backend.metrics.EndpointMetrics;
+import com.authapp.backend.metrics.EndpointTimingInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Times every {@code /auth} and {@code /test} route.
+ * {@code AuthController} records outcomes finer than its status codes on the request; the rest go by status.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class WebMvcMetricsConfig implements WebMvcConfigurer {
+
+    private final EndpointMetrics endpointMetrics;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointTimingInterceptor(endpointMetrics))
+                .addPathPatterns("/auth/**", "/test/**");
+    }
+}
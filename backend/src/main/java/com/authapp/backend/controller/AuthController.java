@@ -3,10 +3,18 @@ package com.authapp.backend.controller;
 import com.authapp.backend.dto.ChangePasswordRequestDto;
 import com.authapp.backend.dto.LoginRequestDto;
 import com.authapp.backend.dto.LoginResponseDto;
+import com.authapp.backend.metrics.EndpointMetrics;
+import com.authapp.backend.metrics.EndpointTimingInterceptor;
+import com.authapp.backend.security.JwtTokenProvider;
 import com.authapp.backend.service.AuthService;
+import com.authapp.backend.service.PasswordVerificationOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +22,16 @@ import java.util.Map;
 
 /**
  * REST controller for authentication operations.
+ * Servlet stack only; under the reactive profile {@code ReactiveAuthController} serves {@code /auth}.
+ * Outcomes are logged by {@code AuthService}; lines here are DEBUG so each request is logged once.
+ * Each endpoint is timed by {@link EndpointTimingInterceptor} by status code, except that a response path whose
+ * outcome is finer than its status, such as bad credentials or an invalid session, records that outcome on the
+ * request. Requests rejected by {@code @Valid} are timed as bad requests; those rejected by the security chain
+ * (401, 403) never reach the interceptor and are only timed by Spring's {@code http.server.requests}.
  */
 @RestController
 @RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class AuthController {
@@ -27,23 +42,27 @@ public class AuthController {
      * User login endpoint.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDto loginRequest) {
-        log.info("Login request received for email: {}", loginRequest.getEmail());
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDto loginRequest, HttpServletRequest request) {
+        log.debug("Login request received for email: {}", loginRequest.getEmail());
         
         try {
             LoginResponseDto response = authService.login(loginRequest);
             
             if (response.isSuccess()) {
-                log.info("Login successful for user: {}", loginRequest.getEmail());
+                log.debug("Login successful for user: {}", loginRequest.getEmail());
                 return ResponseEntity.ok(response);
             } else {
-                log.warn("Login failed for user: {}", loginRequest.getEmail());
+                log.debug("Login failed for user: {}", loginRequest.getEmail());
+                EndpointTimingInterceptor.recordOutcome(request, loginFailureOutcome(response.getOutcome()));
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
                     "message", response.getMessage()
                 ));
             }
             
+        } catch (PasswordVerificationOverloadedException e) {
+            log.warn("Login rejected, password hashing saturated for email: {}", loginRequest.getEmail());
+            return serviceUnavailable(e, "Too many login attempts in progress, please retry shortly");
         } catch (Exception e) {
             log.error("Login error for email: {}", loginRequest.getEmail(), e);
             return ResponseEntity.internalServerError().body(Map.of(
@@ -57,26 +76,32 @@ public class AuthController {
      * Change password endpoint.
      */
     @PostMapping("/change-password")
-    public ResponseEntity<?> changePassword(@Valid @RequestBody ChangePasswordRequestDto changePasswordRequest) {
-        log.info("Password change request received for email: {}", changePasswordRequest.getEmail());
+    public ResponseEntity<?> changePassword(@Valid @RequestBody ChangePasswordRequestDto changePasswordRequest,
+                                            HttpServletRequest request) {
+        log.debug("Password change request received for email: {}", changePasswordRequest.getEmail());
         
         try {
             boolean success = authService.changePassword(changePasswordRequest);
             
             if (success) {
-                log.info("Password change successful for user: {}", changePasswordRequest.getEmail());
+                log.debug("Password change successful for user: {}", changePasswordRequest.getEmail());
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Password changed successfully"
                 ));
             } else {
-                log.warn("Password change failed for user: {}", changePasswordRequest.getEmail());
+                log.debug("Password change failed for user: {}", changePasswordRequest.getEmail());
+                // AuthService folds unknown, disabled and wrong-password accounts into one false
+                EndpointTimingInterceptor.recordOutcome(request, EndpointMetrics.BAD_CREDENTIALS);
                 return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
                     "message", "Password change failed. Please check your current password."
                 ));
             }
             
+        } catch (PasswordVerificationOverloadedException e) {
+            log.warn("Password change rejected, password hashing saturated for email: {}", changePasswordRequest.getEmail());
+            return serviceUnavailable(e, "Too many password operations in progress, please retry shortly");
         } catch (Exception e) {
             log.error("Password change error for email: {}", changePasswordRequest.getEmail(), e);
             return ResponseEntity.internalServerError().body(Map.of(
@@ -88,13 +113,19 @@ public class AuthController {
     
     /**
      * Logout endpoint.
+     * Ends the session and revokes the bearer token in the Authorization header, whichever are sent.
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(@RequestHeader(value = "X-Session-ID", required = false) String sessionId) {
-        log.info("Logout request received for session: {}", sessionId);
+    public ResponseEntity<?> logout(@RequestHeader(value = "X-Session-ID", required = false) String sessionId,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    HttpServletRequest request) {
+        log.debug("Logout request received for session: {}", sessionId);
         
         try {
-            boolean success = authService.logout(sessionId);
+            boolean success = authService.logout(sessionId, JwtTokenProvider.resolveBearer(authorization));
+            if (!success) {
+                EndpointTimingInterceptor.recordOutcome(request, EndpointMetrics.INVALID);
+            }
             
             return ResponseEntity.ok(Map.of(
                 "success", success,
@@ -112,14 +143,36 @@ public class AuthController {
     
     /**
      * Validate session endpoint.
+     * A bearer token in the Authorization header takes precedence over the X-Session-ID header.
      */
     @GetMapping("/validate")
-    public ResponseEntity<?> validateSession(@RequestHeader(value = "X-Session-ID", required = false) String sessionId) {
+    public ResponseEntity<?> validateSession(@RequestHeader(value = "X-Session-ID", required = false) String sessionId,
+                                             @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                             HttpServletRequest request) {
         log.debug("Session validation request for session: {}", sessionId);
         
         try {
-            boolean valid = authService.validateSession(sessionId);
+            String token = JwtTokenProvider.resolveBearer(authorization);
+            if (token != null) {
+                boolean valid = authService.validateToken(token);
+                if (!valid) {
+                    EndpointTimingInterceptor.recordOutcome(request, EndpointMetrics.INVALID);
+                }
+                return ResponseEntity.ok(Map.of(
+                    "valid", valid,
+                    "tokenType", "Bearer"
+                ));
+            }
             
+            if (sessionId == null) {
+                EndpointTimingInterceptor.recordOutcome(request, EndpointMetrics.INVALID);
+                return ResponseEntity.ok(Map.of("valid", false));
+            }
+            
+            boolean valid = authService.validateSession(sessionId);
+            if (!valid) {
+                EndpointTimingInterceptor.recordOutcome(request, EndpointMetrics.INVALID);
+            }
             return ResponseEntity.ok(Map.of(
                 "valid", valid,
                 "sessionId", sessionId
@@ -133,4 +186,30 @@ public class AuthController {
             ));
         }
     }
+    
+    /**
+     * Metrics outcome of a login that {@code AuthService} answered with a failure.
+     */
+    private static String loginFailureOutcome(LoginResponseDto.Outcome outcome) {
+        if (outcome == null) {
+            return EndpointMetrics.ERROR;
+        }
+        return switch (outcome) {
+            case BAD_CREDENTIALS -> EndpointMetrics.BAD_CREDENTIALS;
+            case DISABLED -> EndpointMetrics.DISABLED;
+            case SUCCEEDED, ERROR -> EndpointMetrics.ERROR;
+        };
+    }
+    
+    /**
+     * Build a 503 response with a Retry-After hint for a saturated hashing executor.
+     */
+    private ResponseEntity<?> serviceUnavailable(PasswordVerificationOverloadedException e, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of(
+                "success", false,
+                "message", message
+            ));
+    }
 }
@@ -1,17 +1,44 @@
 package com.authapp.backend.controller;
 
+import com.authapp.backend.audit.LoginAuditLog;
 import com.authapp.backend.dto.CreateUserDto;
+import com.authapp.backend.dto.EmailSuggestionDto;
+import com.authapp.backend.dto.LoginEventDto;
+import com.authapp.backend.dto.LoginEventPageDto;
+import com.authapp.backend.dto.UserImportResultDto;
+import com.authapp.backend.dto.UserPageDto;
 import com.authapp.backend.dto.UserResponseDto;
+import com.authapp.backend.dto.UserSearchPageDto;
 import com.authapp.backend.entity.Role;
 import com.authapp.backend.entity.User;
+import com.authapp.backend.logging.LogSamplingFilter;
+import com.authapp.backend.repository.UserSummary;
+import com.authapp.backend.search.UserEmailAutocomplete;
+import com.authapp.backend.service.DuplicateEmailException;
+import com.authapp.backend.service.PasswordVerificationService;
+import com.authapp.backend.service.UserFileFormat;
+import com.authapp.backend.service.UserImportService;
+import com.authapp.backend.service.UserExportService;
+import com.authapp.backend.service.UserPage;
+import com.authapp.backend.service.UserSearchPage;
 import com.authapp.backend.service.UserService;
+import com.authapp.backend.service.UserSort;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -19,22 +46,29 @@ import java.util.Optional;
 /**
  * Test controller to verify H2 database connectivity and basic CRUD operations.
  * This controller will be replaced with proper authentication controllers in Part 3.
+ * Servlet stack only; the reactive profile serves just the {@code /auth} API.
  */
 @RestController
 @RequestMapping("/test")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 @CrossOrigin
 public class TestController {
 
     private final UserService userService;
+    private final PasswordVerificationService passwordVerificationService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserEmailAutocomplete userEmailAutocomplete;
+    private final LoginAuditLog loginAuditLog;
 
     /**
      * Health check endpoint.
      */
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
-        log.info("Health check requested");
+        log.info(LogSamplingFilter.SAMPLED, "Health check requested");
         
         Map<String, Object> response = Map.of(
             "status", "UP",
@@ -49,15 +83,22 @@ public class TestController {
 
     /**
      * Create a test user.
+     * Anyone may register a plain user; granting any other role takes an admin bearer token.
      */
     @PostMapping("/users")
-    public ResponseEntity<UserResponseDto> createUser(@Valid @RequestBody CreateUserDto createUserDto) {
+    public ResponseEntity<?> createUser(@Valid @RequestBody CreateUserDto createUserDto, Authentication authentication) {
         log.info("Creating test user with email: {}", createUserDto.getEmail());
         
+        if (grantsPrivilegedRole(createUserDto) && !isAdmin(authentication)) {
+            log.warn("Rejected privileged roles {} for user: {}", createUserDto.getRoles(), createUserDto.getEmail());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Only an administrator may grant roles other than ROLE_USER"));
+        }
+        
         try {
             User user = User.builder()
                     .email(createUserDto.getEmail())
-                    .password(createUserDto.getPassword()) // Note: In Part 3, this will be encoded
+                    .password(passwordVerificationService.encode(createUserDto.getPassword()))
                     .build();
             
             // Add roles
@@ -72,6 +113,9 @@ public class TestController {
             UserResponseDto response = mapToResponseDto(savedUser);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (DuplicateEmailException e) {
+            log.warn("Rejected duplicate user: {}", e.getEmail());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error creating user: {}", e.getMessage());
             throw new RuntimeException("Failed to create user: " + e.getMessage());
@@ -79,18 +123,136 @@ public class TestController {
     }
 
     /**
-     * Get all users.
+     * Get users one keyset page at a time.
+     * Sort by "id" or "createdAt", "asc" or "desc"; size is capped at {@link UserService#MAX_PAGE_SIZE}.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
-        log.info("Retrieving all users");
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size,
+                                         @RequestParam(defaultValue = "id") String sort,
+                                         @RequestParam(defaultValue = "asc") String direction) {
+        log.info("Retrieving users page: sort={} {}, size={}", sort, direction, size);
         
-        List<User> users = userService.findAllUsers();
-        List<UserResponseDto> response = users.stream()
-                .map(this::mapToResponseDto)
-                .toList();
+        try {
+            UserPage page = userService.findUsersPage(UserSort.of(sort, direction), cursor, size);
+            UserPageDto response = UserPageDto.builder()
+                    .items(page.getUsers().stream()
+                            .map(UserResponseDto::from)
+                            .toList())
+                    .nextCursor(page.getNextCursor())
+                    .hasMore(page.hasMore())
+                    .size(page.getUsers().size())
+                    .build();
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected users page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Search users by a case-insensitive substring of their email, best match first.
+     * Size is capped at {@link UserService#MAX_PAGE_SIZE}.
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size) {
+        log.info("Searching users by email: {} (page {}, size {})", q, page, size);
         
-        return ResponseEntity.ok(response);
+        try {
+            UserSearchPage result = userService.searchUsersByEmail(q, page, size);
+            UserSearchPageDto response = UserSearchPageDto.builder()
+                    .items(result.getUsers().stream()
+                            .map(UserResponseDto::from)
+                            .toList())
+                    .page(result.getPage())
+                    .size(result.getSize())
+                    .total(result.getTotal())
+                    .hasMore(result.hasMore())
+                    .build();
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected user search request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Suggest user emails starting with the typed prefix, ignoring case, for admin typeahead.
+     * Limit is capped at {@link UserEmailAutocomplete#MAX_SUGGESTIONS}.
+     */
+    @GetMapping("/users/autocomplete")
+    public ResponseEntity<?> autocompleteEmails(@RequestParam String prefix,
+                                                @RequestParam(defaultValue = "" + UserEmailAutocomplete.DEFAULT_SUGGESTIONS) int limit) {
+        log.debug("Autocompleting user emails for prefix: {} (limit {})", prefix, limit);
+        
+        try {
+            List<EmailSuggestionDto> suggestions = userEmailAutocomplete.suggest(prefix, limit).stream()
+                    .map(suggestion -> EmailSuggestionDto.builder()
+                            .id(suggestion.userId())
+                            .email(suggestion.email())
+                            .build())
+                    .toList();
+            return ResponseEntity.ok(suggestions);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected autocomplete request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Export every user as NDJSON (default) or CSV.
+     * Rows are streamed to the client as they are read, so the dump is never held in memory.
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Exporting users as {}", format);
+        
+        UserFileFormat exportFormat;
+        try {
+            exportFormat = UserFileFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+        
+        StreamingResponseBody body = out -> userExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"users." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Bulk-import users from an NDJSON or CSV request body.
+     * The format comes from the format parameter, or else from the Content-Type header.
+     */
+    @PostMapping("/users/import")
+    public ResponseEntity<?> importUsers(@RequestParam(required = false) String format,
+                                         @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                         InputStream body) {
+        log.info("Importing users, format={}, content type={}", format, contentType);
+        
+        try {
+            UserFileFormat importFormat = format != null
+                    ? UserFileFormat.of(format)
+                    : UserFileFormat.ofContentType(contentType);
+            UserImportResultDto result = userImportService.importUsers(importFormat, body);
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected user import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.error("Error reading user import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to read upload: " + e.getMessage()));
+        }
     }
 
     /**
@@ -98,7 +260,7 @@ public class TestController {
      */
     @GetMapping("/users/{id}")
     public ResponseEntity<UserResponseDto> getUserById(@PathVariable Long id) {
-        log.info("Retrieving user by ID: {}", id);
+        log.info(LogSamplingFilter.SAMPLED, "Retrieving user by ID: {}", id);
         
         Optional<User> user = userService.findById(id);
         if (user.isPresent()) {
@@ -109,6 +271,28 @@ public class TestController {
         }
     }
 
+    /**
+     * Get a user's login audit trail one keyset page at a time, newest first.
+     * Size is capped at {@link UserService#MAX_PAGE_SIZE}.
+     */
+    @GetMapping("/users/{id}/login-events")
+    public ResponseEntity<LoginEventPageDto> getLoginEvents(@PathVariable Long id,
+                                                            @RequestParam(required = false) Long before,
+                                                            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size) {
+        log.info("Retrieving login events for user ID: {}, before={}, size={}", id, before, size);
+        
+        LoginAuditLog.Page page = loginAuditLog.findByUser(id, before, size);
+        LoginEventPageDto response = LoginEventPageDto.builder()
+                .items(page.events().stream()
+                        .map(LoginEventDto::from)
+                        .toList())
+                .nextBefore(page.nextBefore())
+                .hasMore(page.hasMore())
+                .size(page.events().size())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get user by email.
      */
@@ -132,9 +316,9 @@ public class TestController {
     public ResponseEntity<List<UserResponseDto>> getUsersByRole(@PathVariable Role role) {
         log.info("Retrieving users by role: {}", role);
         
-        List<User> users = userService.findByRole(role);
+        List<UserSummary> users = userService.findByRole(role);
         List<UserResponseDto> response = users.stream()
-                .map(this::mapToResponseDto)
+                .map(UserResponseDto::from)
                 .toList();
         
         return ResponseEntity.ok(response);
@@ -184,13 +368,13 @@ public class TestController {
         try {
             // Create admin user
             if (!userService.existsByEmail("admin@authapp.com")) {
-                User admin = User.createAdmin("admin@authapp.com", "admin123");
+                User admin = User.createAdmin("admin@authapp.com", passwordVerificationService.encode("admin123"));
                 userService.createUser(admin);
             }
             
             // Create regular user
             if (!userService.existsByEmail("user@authapp.com")) {
-                User user = User.createUser("user@authapp.com", "user123");
+                User user = User.createUser("user@authapp.com", passwordVerificationService.encode("user123"));
                 userService.createUser(user);
             }
             
@@ -204,20 +388,22 @@ public class TestController {
         }
     }
 
+    private static boolean grantsPrivilegedRole(CreateUserDto createUserDto) {
+        return createUserDto.getRoles() != null
+                && createUserDto.getRoles().stream().anyMatch(role -> role != Role.ROLE_USER);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        // Null for anonymous callers: MVC resolves this from the request principal
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(Role.ROLE_ADMIN.name()::equals);
+    }
+
     /**
      * Map User entity to UserResponseDto.
      */
     private UserResponseDto mapToResponseDto(User user) {
-        return UserResponseDto.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .roles(user.getRoles())
-                .enabled(user.getEnabled())
-                .accountNonExpired(user.getAccountNonExpired())
-                .accountNonLocked(user.getAccountNonLocked())
-                .credentialsNonExpired(user.getCredentialsNonExpired())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .build();
+        return UserResponseDto.from(user);
     }
 }
@@ -0,0 +1,19 @@
+package com.authapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one email autocomplete suggestion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailSuggestionDto {
+
+    private Long id;
+    private String email;
+}
@@ -0,0 +1,42 @@
+package com.authapp.backend.dto;
+
+import com.authapp.backend.entity.LoginEvent;
+import com.authapp.backend.entity.LoginEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of a user's login audit trail.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginEventDto {
+
+    private Long id;
+    private LoginEventType type;
+    private String email;
+    private String reason;
+    private LocalDateTime occurredAt;
+
+    /**
+     * Map an audit event to its response representation.
+     *
+     * @param event the event
+     * @return the response DTO
+     */
+    public static LoginEventDto from(LoginEvent event) {
+        return LoginEventDto.builder()
+                .id(event.getId())
+                .type(event.getType())
+                .email(event.getEmail())
+                .reason(event.getReason())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.authapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a user's login audit trail, newest first.
+ * Pass {@code nextBefore} back as the {@code before} parameter to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginEventPageDto {
+
+    private List<LoginEventDto> items;
+    private Long nextBefore;
+    private boolean hasMore;
+    private int size;
+}
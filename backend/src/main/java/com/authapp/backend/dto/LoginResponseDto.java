@@ -1,6 +1,7 @@
 package com.authapp.backend.dto;
 
 import com.authapp.backend.entity.Role;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,16 @@ import java.util.Set;
 @AllArgsConstructor
 public class LoginResponseDto {
     
+    /**
+     * Why a login succeeded or failed, for metrics; the client only sees {@code success} and {@code message}.
+     */
+    public enum Outcome {
+        SUCCEEDED,
+        BAD_CREDENTIALS,
+        DISABLED,
+        ERROR
+    }
+    
     private Long id;
     private String email;
     private Set<Role> roles;
@@ -25,8 +36,14 @@ public class LoginResponseDto {
     private LocalDateTime lastLogin;
     private String message;
     private boolean success;
+    @JsonIgnore
+    private Outcome outcome;
     
     // Session info (for basic auth without JWT)
     private String sessionId;
     private LocalDateTime sessionExpiry;
+    
+    // Stateless JWT, verified without any session or database lookup
+    private String token;
+    private String tokenType;
 }
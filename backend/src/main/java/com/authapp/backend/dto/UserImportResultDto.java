@@ -0,0 +1,33 @@
+package com.authapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk user import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportResultDto {
+
+    private long received;
+    private long imported;
+    private long duplicates;
+    private long existing;
+    private long invalid;
+    private long failed;
+    private long elapsedMillis;
+
+    /**
+     * First few row errors, prefixed with their line number.
+     */
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+}
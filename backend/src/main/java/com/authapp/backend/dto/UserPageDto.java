@@ -0,0 +1,24 @@
+package com.authapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the user listing.
+ * Pass {@code nextCursor} back as the {@code cursor} parameter to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPageDto {
+
+    private List<UserResponseDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
@@ -1,6 +1,8 @@
 package com.authapp.backend.dto;
 
 import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserSummary;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,4 +30,44 @@ public class UserResponseDto {
     private Boolean credentialsNonExpired;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Map a User entity to its response representation.
+     *
+     * @param user the user
+     * @return the response DTO
+     */
+    public static UserResponseDto from(User user) {
+        return UserResponseDto.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .roles(user.getRoles())
+                .enabled(user.getEnabled())
+                .accountNonExpired(user.getAccountNonExpired())
+                .accountNonLocked(user.getAccountNonLocked())
+                .credentialsNonExpired(user.getCredentialsNonExpired())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Map a listing projection to its response representation.
+     *
+     * @param user the user summary
+     * @return the response DTO
+     */
+    public static UserResponseDto from(UserSummary user) {
+        return UserResponseDto.builder()
+                .id(user.id())
+                .email(user.email())
+                .roles(user.roles())
+                .enabled(user.enabled())
+                .accountNonExpired(user.accountNonExpired())
+                .accountNonLocked(user.accountNonLocked())
+                .credentialsNonExpired(user.credentialsNonExpired())
+                .createdAt(user.createdAt())
+                .updatedAt(user.updatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,24 @@
+package com.authapp.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of email search results, best match first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSearchPageDto {
+
+    private List<UserResponseDto> items;
+    private int page;
+    private int size;
+    private long total;
+    private boolean hasMore;
+}
@@ -0,0 +1,46 @@
+package com.authapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the login audit trail.
+ * Rows are append-only and written in JDBC batches by {@code LoginAuditLog}, never through JPA;
+ * the entity maps the table for its schema and for reads. The user ID is null when the email
+ * matched no user. IDs grow with insertion order, so per-user pages are keyset pages on
+ * {@code (user_id, id)}.
+ */
+@Entity
+@Table(name = "login_events",
+       indexes = {
+           @Index(name = "idx_login_events_user_id_id", columnList = "user_id, id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoginEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "email", length = 255)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private LoginEventType type;
+
+    /** Why a failure failed, e.g. {@code BAD_CREDENTIALS}; null for successes and logouts. */
+    @Column(name = "reason", length = 64)
+    private String reason;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
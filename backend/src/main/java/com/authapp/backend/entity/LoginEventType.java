@@ -0,0 +1,13 @@
+package com.authapp.backend.entity;
+
+/**
+ * Kind of entry in the login audit trail.
+ * Stored by name in {@code login_events.type}; never rename a constant.
+ */
+public enum LoginEventType {
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED,
+    PASSWORD_CHANGED,
+    PASSWORD_CHANGE_FAILED,
+    LOGOUT
+}
@@ -0,0 +1,36 @@
+package com.authapp.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker for a resumable background data migration.
+ * Records the last primary key a migration has fully processed.
+ */
+@Entity
+@Table(name = "migration_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MigrationCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    @Builder.Default
+    private Long lastId = 0L;
+
+    @Column(name = "processed", nullable = false)
+    @Builder.Default
+    private Long processed = 0L;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -5,16 +5,19 @@ import lombok.Getter;
 /**
  * Enumeration representing user roles in the application.
  * Used for role-based access control (RBAC).
+ * Each role owns a fixed bit in the {@code users.role_mask} column; never reuse or renumber a bit.
  */
 @Getter
 public enum Role {
-    ROLE_USER("User"),
-    ROLE_ADMIN("Administrator");
+    ROLE_USER("User", 1),
+    ROLE_ADMIN("Administrator", 1 << 1);
 
     private final String displayName;
+    private final int bit;
 
-    Role(String displayName) {
+    Role(String displayName, int bit) {
         this.displayName = displayName;
+        this.bit = bit;
     }
 
     @Override
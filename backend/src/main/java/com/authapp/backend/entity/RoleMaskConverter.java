@@ -0,0 +1,78 @@
+package com.authapp.backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores a user's roles as a bitmask of {@link Role#getBit()} values in one integer column.
+ * Loading a user then needs no join, and role filters become single-table predicates.
+ */
+@Converter
+public class RoleMaskConverter implements AttributeConverter<Set<Role>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Role> roles) {
+        return toMask(roles);
+    }
+
+    @Override
+    public Set<Role> convertToEntityAttribute(Integer mask) {
+        return fromMask(mask != null ? mask : 0);
+    }
+
+    /**
+     * @param roles the roles, may be null
+     * @return the bitmask with each role's bit set
+     */
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (Role role : roles) {
+                mask |= role.getBit();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param mask a bitmask; unknown bits are ignored
+     * @return a new mutable set of the roles whose bits are set
+     */
+    public static EnumSet<Role> fromMask(int mask) {
+        EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : Role.values()) {
+            if ((mask & role.getBit()) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Every mask that includes the given role.
+     * Lets {@code role_mask & bit <> 0} be written as an IN list the role_mask index can seek,
+     * at the cost of 2^(roles - 1) values.
+     *
+     * @param role the role
+     * @return the masks with the role's bit set
+     */
+    public static List<Integer> masksContaining(Role role) {
+        int all = toMask(EnumSet.allOf(Role.class));
+        List<Integer> masks = new ArrayList<>();
+        // Enumerate every subset of the other roles' bits and add this role's bit
+        int others = all & ~role.getBit();
+        for (int subset = others; ; subset = (subset - 1) & others) {
+            masks.add(subset | role.getBit());
+            if (subset == 0) {
+                break;
+            }
+        }
+        return masks;
+    }
+}
@@ -5,21 +5,40 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.EnumSet;
+import java.util.Locale;
 import java.util.Set;
 
 /**
  * User entity representing a user in the application.
  * Contains authentication and authorization information.
+ * The email is also stored trimmed and lower-cased in {@code email_normalized}, kept in step on every
+ * insert and update; all email lookups go through that column's unique index.
+ * The normalized email is the natural ID, and both the entity and the email-to-ID resolution live in
+ * the second-level cache, so lookups by ID or email that hit it need no SQL. The roles are a column
+ * of the entity, so they are cached with it.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.EMAIL_CACHE_REGION)
 @Table(name = "users", 
        uniqueConstraints = {
-           @UniqueConstraint(columnNames = "email")
+           @UniqueConstraint(columnNames = "email"),
+           @UniqueConstraint(name = User.EMAIL_NORMALIZED_KEY, columnNames = "email_normalized")
+       },
+       indexes = {
+           @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+           @Index(name = "idx_users_role_mask", columnList = "role_mask")
        })
 @Data
 @NoArgsConstructor
@@ -29,8 +48,28 @@ import java.util.Set;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class User {
 
+    /** Sequence backing user IDs; shared by JPA inserts and the bulk importer. */
+    public static final String ID_SEQUENCE = "users_seq";
+
+    /** IDs reserved per sequence call; the pooled optimizer hands out {@code (value - size, value]}. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /** First value of the ID sequence, which the pooled optimizer treats as the bottom of its first block. */
+    public static final int ID_INITIAL_VALUE = 1;
+
+    /** Unique constraint, and index, on the normalized email. */
+    public static final String EMAIL_NORMALIZED_KEY = "uk_users_email_normalized";
+
+    /** Second-level cache region of users by ID. */
+    public static final String CACHE_REGION = "users";
+
+    /** Second-level cache region resolving normalized emails to user IDs. */
+    public static final String EMAIL_CACHE_REGION = "users-by-email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, initialValue = ID_INITIAL_VALUE,
+            allocationSize = ID_ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -40,17 +79,27 @@ public class User {
     @Column(name = "email", nullable = false, unique = true, length = 100)
     private String email;
 
+    /**
+     * Lookup key derived from {@link #email}; set by {@link #updateEmailNormalized()}, never by callers.
+     * Nullable in the mapping only so a schema update can add it to existing tables;
+     * EmailNormalizationMigration backfills it and then makes it NOT NULL.
+     * Mutable as a natural ID because users may change their email.
+     */
+    @NaturalId(mutable = true)
+    @Column(name = "email_normalized", length = 100)
+    @Setter(AccessLevel.NONE)
+    private String emailNormalized;
+
     @NotBlank(message = "Password is required")
     @Size(min = 6, max = 120, message = "Password must be between 6 and 120 characters")
     @Column(name = "password", nullable = false, length = 120)
     private String password;
 
-    @Enumerated(EnumType.STRING)
-    @ElementCollection(targetClass = Role.class, fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role", nullable = false)
+    @Convert(converter = RoleMaskConverter.class)
+    @Column(name = "role_mask", nullable = false)
+    @ColumnDefault("0")
     @Builder.Default
-    private Set<Role> roles = new HashSet<>();
+    private Set<Role> roles = EnumSet.noneOf(Role.class);
 
     @Column(name = "enabled", nullable = false)
     @Builder.Default
@@ -76,6 +125,37 @@ public class User {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Time of the most recent successful login, null if the user never logged in.
+     * Written only by LastLoginTracker's batched updates, never by entity saves, so saving a user
+     * loaded before a login cannot roll it back; cached copies may lag behind it.
+     */
+    @Column(name = "last_login_at", insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    /**
+     * Normalize an email for lookups: trimmed and lower-cased.
+     *
+     * @param email the email address, may be null
+     * @return the normalized email, or null if the email is null
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateEmailNormalized() {
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    /**
+     * Replace the user's roles, keeping them in a mutable EnumSet.
+     */
+    public void setRoles(Set<Role> roles) {
+        this.roles = roles == null || roles.isEmpty() ? EnumSet.noneOf(Role.class) : EnumSet.copyOf(roles);
+    }
+
     // Utility methods
     public boolean hasRole(Role role) {
         return roles.contains(role);
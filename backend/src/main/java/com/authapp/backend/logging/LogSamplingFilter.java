@@ -0,0 +1,54 @@
+package com.authapp.backend.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter passing only one in {@code rate} of the events logged with the {@link #SAMPLED} marker.
+ * Meant for repetitive per-request lines such as successful logins. Each message pattern is counted
+ * separately, so a busy line cannot crowd out a quiet one, and the first occurrence always passes.
+ * Events without the marker are left alone. Configured in {@code logback-spring.xml}.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+
+    /** Marks a log line as safe to sample. */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    // Keyed by the unformatted pattern, of which the code has a fixed, small set
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 1;
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1 || !isSampled(event)) {
+            return FilterReply.NEUTRAL;
+        }
+        long seen = counters.computeIfAbsent(event.getMessage(), message -> new AtomicLong()).getAndIncrement();
+        return seen % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private static boolean isSampled(ILoggingEvent event) {
+        List<Marker> markers = event.getMarkerList();
+        if (markers == null) {
+            return false;
+        }
+        for (Marker marker : markers) {
+            if (marker.contains(SAMPLED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
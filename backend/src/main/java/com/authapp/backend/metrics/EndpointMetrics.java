@@ -0,0 +1,89 @@
+package com.authapp.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint request timers, {@code api.requests} tagged by method, endpoint and outcome.
+ * Each timer publishes a percentile histogram plus buckets at the {@code app.metrics.slo-ms} service level
+ * objectives, so latency quantiles and SLO compliance can be computed in Prometheus across instances.
+ * Timers are resolved once per endpoint and outcome and then reused.
+ */
+@Component
+public class EndpointMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String BAD_CREDENTIALS = "bad-credentials";
+    public static final String DISABLED = "disabled";
+    public static final String INVALID = "invalid";
+    public static final String BAD_REQUEST = "bad-request";
+    public static final String NOT_FOUND = "not-found";
+    public static final String CONFLICT = "conflict";
+    public static final String CLIENT_ERROR = "client-error";
+    public static final String OVERLOADED = "overloaded";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] serviceLevelObjectives;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public EndpointMetrics(MeterRegistry meterRegistry,
+                           @Value("${app.metrics.slo-ms:10,25,50,100,250,500,1000,2500}") long[] sloMillis) {
+        this.meterRegistry = meterRegistry;
+        this.serviceLevelObjectives = Arrays.stream(sloMillis).sorted().mapToObj(Duration::ofMillis).toArray(Duration[]::new);
+    }
+
+    /**
+     * Start timing a request.
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stop timing a request and record it under its endpoint and outcome.
+     *
+     * @param sample the sample returned by {@link #start()}
+     * @param method the HTTP method
+     * @param endpoint the route template, e.g. {@code /test/users/{id}}
+     * @param outcome one of this class's outcome constants
+     */
+    public void stop(Timer.Sample sample, String method, String endpoint, String outcome) {
+        sample.stop(timer(method, endpoint, outcome));
+    }
+
+    /**
+     * Outcome of a response that has no finer-grained one, from its status code.
+     */
+    public static String outcomeOf(int status) {
+        if (status < 400) {
+            return SUCCESS;
+        }
+        return switch (status) {
+            case 400 -> BAD_REQUEST;
+            case 404 -> NOT_FOUND;
+            case 409 -> CONFLICT;
+            case 503 -> OVERLOADED;
+            default -> status < 500 ? CLIENT_ERROR : ERROR;
+        };
+    }
+
+    private Timer timer(String method, String endpoint, String outcome) {
+        return timers.computeIfAbsent(method + ' ' + endpoint, route -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, tag -> Timer.builder("api.requests")
+                        .description("Time to handle an API request, by endpoint and outcome")
+                        .tag("method", method)
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", tag)
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(serviceLevelObjectives)
+                        .register(meterRegistry));
+    }
+}
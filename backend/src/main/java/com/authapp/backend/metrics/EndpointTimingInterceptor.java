@@ -0,0 +1,62 @@
+package com.authapp.backend.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times requests into {@link EndpointMetrics} by the outcome a handler recorded with {@link #recordOutcome},
+ * or else by their status code. The endpoint tag is the matched route template, so path variables do not
+ * multiply the timers. A streamed response is timed until its asynchronous dispatch completes rather than
+ * until the handler returns.
+ */
+public class EndpointTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = EndpointTimingInterceptor.class.getName() + ".sample";
+    private static final String OUTCOME_ATTRIBUTE = EndpointTimingInterceptor.class.getName() + ".outcome";
+
+    private final EndpointMetrics endpointMetrics;
+
+    public EndpointTimingInterceptor(EndpointMetrics endpointMetrics) {
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    /**
+     * Record an outcome finer than the response status, such as {@link EndpointMetrics#BAD_CREDENTIALS} for a 400.
+     *
+     * @param request the request being handled
+     * @param outcome one of the {@link EndpointMetrics} outcome constants
+     */
+    public static void recordOutcome(HttpServletRequest request, String outcome) {
+        request.setAttribute(OUTCOME_ATTRIBUTE, outcome);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch of a streamed response passes here again; keep the original start
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) == null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, endpointMetrics.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample)) {
+            return;
+        }
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : "UNKNOWN";
+        String outcome;
+        if (request.getAttribute(OUTCOME_ATTRIBUTE) instanceof String recorded) {
+            outcome = recorded;
+        } else {
+            outcome = ex != null ? EndpointMetrics.ERROR : EndpointMetrics.outcomeOf(response.getStatus());
+        }
+        endpointMetrics.stop(sample, request.getMethod(), endpoint, outcome);
+    }
+}
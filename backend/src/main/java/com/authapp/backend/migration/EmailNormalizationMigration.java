@@ -0,0 +1,128 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backfills {@code users.email_normalized} for rows written before the column existed, then makes it NOT NULL.
+ * The schema update adds the column as nullable, since existing rows have no value for it; once every row
+ * is filled the database enforces it like the entity does. Runs before the application serves requests, so
+ * no login misses a user whose lookup key is still empty.
+ * <p>
+ * Existing emails that differ only in case cannot share the unique lookup key. They are found and logged
+ * before anything is written, and then the {@code on-conflict} policy decides: {@code FAIL} stops startup
+ * so they can be resolved by hand, {@code RENAME} keeps the oldest account of each group as it is and
+ * tags the others' emails with {@code +duplicate-<id>}, so every account stays reachable by its ID.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class EmailNormalizationMigration {
+
+    // Same normalization as User.normalizeEmail for the ASCII addresses the entity accepts
+    private static final String BACKFILL =
+            "UPDATE users SET email_normalized = LOWER(TRIM(email)) WHERE email_normalized IS NULL";
+
+    private static final String NEEDS_BACKFILL = "SELECT COUNT(*) FROM users WHERE email_normalized IS NULL";
+
+    private static final String CONFLICTS = """
+            SELECT id, email FROM users WHERE LOWER(TRIM(email)) IN (
+                SELECT LOWER(TRIM(email)) FROM users GROUP BY LOWER(TRIM(email)) HAVING COUNT(*) > 1)
+            ORDER BY LOWER(TRIM(email)), id""";
+
+    private static final String RENAME = "UPDATE users SET email = ?, email_normalized = ? WHERE id = ?";
+
+    private static final String COLUMN_NULLABLE = """
+            SELECT IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS
+            WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = 'USERS' AND UPPER(COLUMN_NAME) = 'EMAIL_NORMALIZED'""";
+
+    private static final int MAX_EMAIL_LENGTH = 100;
+
+    /**
+     * What to do with existing emails that differ only in case.
+     */
+    public enum ConflictPolicy {
+        FAIL,
+        RENAME
+    }
+
+    private record Account(long id, String email) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.email-normalization.on-conflict:FAIL}")
+    private ConflictPolicy onConflict;
+
+    @PostConstruct
+    public void migrate() {
+        Long missing = jdbcTemplate.queryForObject(NEEDS_BACKFILL, Long.class);
+        if (missing != null && missing > 0) {
+            Integer filled = transactionTemplate.execute(status -> {
+                resolveConflicts();
+                return jdbcTemplate.update(BACKFILL);
+            });
+            log.info("Backfilled email_normalized for {} users", filled);
+        }
+        String nullable = jdbcTemplate.queryForObject(COLUMN_NULLABLE, String.class);
+        if ("YES".equals(nullable)) {
+            jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN email_normalized SET NOT NULL");
+            log.info("Made users.email_normalized NOT NULL");
+        }
+    }
+
+    private void resolveConflicts() {
+        Map<String, List<Account>> groups = new LinkedHashMap<>();
+        jdbcTemplate.query(CONFLICTS, rs -> {
+            Account account = new Account(rs.getLong("id"), rs.getString("email"));
+            groups.computeIfAbsent(User.normalizeEmail(account.email()), key -> new ArrayList<>()).add(account);
+        });
+        if (groups.isEmpty()) {
+            return;
+        }
+        groups.forEach((normalized, accounts) ->
+                log.warn("Emails differing only in case share the lookup key {}: {}", normalized, accounts));
+        if (onConflict != ConflictPolicy.RENAME) {
+            throw new IllegalStateException(groups.size() + " groups of user emails differ only in case and "
+                    + "cannot be normalized; resolve them by hand or set app.email-normalization.on-conflict=RENAME");
+        }
+
+        int renamed = 0;
+        for (List<Account> accounts : groups.values()) {
+            // The oldest account keeps its email
+            for (Account account : accounts.subList(1, accounts.size())) {
+                String email = tagDuplicate(account.email(), account.id());
+                jdbcTemplate.update(RENAME, email, User.normalizeEmail(email), account.id());
+                log.warn("Renamed email of user {} from {} to {}", account.id(), account.email(), email);
+                renamed++;
+            }
+        }
+        log.warn("Renamed {} user emails that differed only in case from an older account's", renamed);
+    }
+
+    /**
+     * Tag the local part of an email with the user ID, shortening it if the result would not fit the column.
+     */
+    static String tagDuplicate(String email, long id) {
+        String tag = "+duplicate-" + id;
+        int at = email.lastIndexOf('@');
+        String local = at < 0 ? email : email.substring(0, at);
+        String domain = at < 0 ? "" : email.substring(at);
+        int room = MAX_EMAIL_LENGTH - tag.length() - domain.length();
+        return local.substring(0, Math.max(0, Math.min(local.length(), room))) + tag + domain;
+    }
+}
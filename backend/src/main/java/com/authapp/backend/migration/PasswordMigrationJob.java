@@ -0,0 +1,182 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.cache.UserCache;
+import com.authapp.backend.entity.MigrationCheckpoint;
+import com.authapp.backend.repository.MigrationCheckpointRepository;
+import com.authapp.backend.security.LegacyPasswordMatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resumable background job that hashes passwords still stored as plaintext.
+ * Walks {@code users} in primary-key order one chunk at a time, so memory stays bounded and
+ * no long-running lock is held. Values that are not a well-formed BCrypt hash, including plaintext
+ * that starts with "{", are hashed in parallel on a dedicated fork-join pool, then written back in
+ * one JDBC batch together with the checkpoint, in a short transaction.
+ * Rows whose password changed in the meantime are left alone by the compare-and-set update.
+ * Rewritten users are evicted through the {@link UserCache}, which also evicts them from the second-level cache.
+ * Login keeps working throughout because unprefixed values still match as legacy plaintext.
+ * Runs once after startup and again whenever {@link #requestRun()} is called.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordMigrationJob {
+
+    static final String NAME = "plaintext-passwords";
+
+    // Whether a value is hashed is decided in Java: a LIKE on the prefix cannot tell a hash from plaintext
+    private static final String SELECT_CHUNK = "SELECT id, password FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_PASSWORD =
+            "UPDATE users SET password = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND password = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MigrationCheckpointRepository checkpointRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+
+    @Value("${app.password.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.password.migration.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.password.migration.parallelism:0}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean rerunRequested = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("Plaintext password migration is disabled");
+            return;
+        }
+        requestRun();
+    }
+
+    /**
+     * Run the migration on a background thread.
+     * Requests made while a run is in progress are coalesced into one more run after it finishes.
+     */
+    public void requestRun() {
+        if (!enabled) {
+            return;
+        }
+        rerunRequested.set(true);
+        if (running.compareAndSet(false, true)) {
+            Thread worker = new Thread(this::drainRequests, "password-migration");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Run the migration from its last checkpoint to the end of the table.
+     *
+     * @return number of passwords hashed in this run
+     */
+    public long run() {
+        MigrationCheckpoint checkpoint = checkpointRepository.findById(NAME)
+                .orElseGet(() -> MigrationCheckpoint.builder().name(NAME).build());
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long migrated = 0;
+        try {
+            log.info("Starting plaintext password migration after id {} with {} threads", checkpoint.getLastId(), threads);
+            while (true) {
+                List<PendingPassword> chunk = jdbcTemplate.query(SELECT_CHUNK,
+                        (rs, rowNum) -> new PendingPassword(rs.getLong("id"), rs.getString("password")),
+                        checkpoint.getLastId(), chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                List<HashedPassword> hashed = pool.submit(() -> chunk.parallelStream()
+                        .filter(row -> !LegacyPasswordMatcher.isEncoded(row.password()))
+                        .map(row -> new HashedPassword(row.id(), row.password(), passwordEncoder.encode(row.password())))
+                        .toList()).get();
+
+                long lastId = chunk.get(chunk.size() - 1).id();
+                int written = writeChunk(checkpoint, hashed, lastId);
+                migrated += written;
+                log.debug("Hashed {} passwords up to id {}", written, lastId);
+            }
+            log.info("Plaintext password migration finished: {} passwords hashed this run, {} in total",
+                    migrated, checkpoint.getProcessed());
+            return migrated;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password migration interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed during migration", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int writeChunk(MigrationCheckpoint checkpoint, List<HashedPassword> hashed, long lastId) {
+        Integer written = transactionTemplate.execute(status -> {
+            // A chunk of already hashed rows still moves the checkpoint
+            int[][] counts = hashed.isEmpty() ? new int[0][] : jdbcTemplate.batchUpdate(UPDATE_PASSWORD, hashed,
+                    hashed.size(), (ps, row) -> {
+                        ps.setString(1, row.hash());
+                        ps.setLong(2, row.id());
+                        ps.setString(3, row.oldPassword());
+                    });
+            int updated = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    updated += Math.max(count, 0);
+                }
+            }
+            // Evicted now and again after commit, so no reader re-caches the plaintext row in between
+            hashed.forEach(row -> userCache.evict(row.id(), null));
+            checkpoint.setLastId(lastId);
+            checkpoint.setProcessed(checkpoint.getProcessed() + updated);
+            MigrationCheckpoint saved = checkpointRepository.save(checkpoint);
+            checkpoint.setUpdatedAt(saved.getUpdatedAt());
+            return updated;
+        });
+        return written != null ? written : 0;
+    }
+
+    private void drainRequests() {
+        do {
+            while (rerunRequested.getAndSet(false)) {
+                runSafely();
+            }
+            running.set(false);
+            // A request may have arrived between the last check and releasing the flag
+        } while (rerunRequested.get() && running.compareAndSet(false, true));
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("Plaintext password migration failed; it will resume from its checkpoint on next start", e);
+        }
+    }
+
+    private record PendingPassword(long id, String password) {
+    }
+
+    private record HashedPassword(long id, String oldPassword, String hash) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.entity.Role;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Folds the legacy {@code user_roles} element-collection table into {@code users.role_mask} on startup.
+ * Each user's role names are OR-ed into one bitmask with a single set-based UPDATE, then the legacy
+ * table is dropped; its absence is what marks the migration as done. Runs before the application
+ * serves requests, so no login ever sees a user without roles.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class RoleMaskMigration {
+
+    static final String LEGACY_TABLE = "user_roles";
+
+    private static final String LEGACY_TABLE_EXISTS = """
+            SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES
+            WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = UPPER(?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        Integer tables = jdbcTemplate.queryForObject(LEGACY_TABLE_EXISTS, Integer.class, LEGACY_TABLE);
+        if (tables == null || tables == 0) {
+            return;
+        }
+
+        // Role bits are distinct powers of two, so summing the distinct bits is a bitwise OR
+        String bitForRole = Arrays.stream(Role.values())
+                .map(role -> "WHEN '" + role.name() + "' THEN " + role.getBit())
+                .collect(Collectors.joining(" ", "CASE r.role ", " ELSE 0 END"));
+        String update = """
+                UPDATE users SET role_mask = (
+                    SELECT SUM(DISTINCT %s) FROM %s r WHERE r.user_id = users.id)
+                WHERE id IN (SELECT user_id FROM %s)""".formatted(bitForRole, LEGACY_TABLE, LEGACY_TABLE);
+
+        Integer migrated = transactionTemplate.execute(status -> jdbcTemplate.update(update));
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        log.info("Moved roles of {} users from {} into users.role_mask", migrated, LEGACY_TABLE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the user ID sequence past the highest existing ID on startup.
+ * Databases created while IDs still came from an identity column get a fresh sequence from the
+ * schema update that would otherwise start at 1 and collide with existing rows. Depends on the
+ * entity manager factory so it runs after the schema has been created or updated.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdSequenceAligner {
+
+    private static final String SEQUENCE_VALUE = """
+            SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES
+            WHERE SEQUENCE_SCHEMA = SCHEMA() AND UPPER(SEQUENCE_NAME) = UPPER(?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        Long next = jdbcTemplate.queryForObject(SEQUENCE_VALUE, Long.class, User.ID_SEQUENCE);
+        // The pooled optimizer hands out (value - allocation size, value], or starts at 1 on a fresh sequence
+        if (maxId != null && next != null && Math.max(1, next - User.ID_ALLOCATION_SIZE + 1) <= maxId) {
+            long restart = maxId + User.ID_ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + User.ID_SEQUENCE + " RESTART WITH " + restart);
+            log.info("Moved {} from {} to {} past existing user IDs", User.ID_SEQUENCE, next, restart);
+        }
+    }
+}
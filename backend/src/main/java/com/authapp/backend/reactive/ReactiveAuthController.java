@@ -0,0 +1,140 @@
+package com.authapp.backend.reactive;
+
+import com.authapp.backend.dto.LoginRequestDto;
+import com.authapp.backend.security.JwtTokenProvider;
+import com.authapp.backend.service.AuthService;
+import com.authapp.backend.service.PasswordVerificationOverloadedException;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of {@code AuthController} for the reactive profile, served by Netty.
+ * Login blocks on JPA and on the password hashing executor, and logout may block recording its audit
+ * event, so both run on the bounded {@code authBlockingScheduler}; validate only touches the in-memory
+ * session store and token cache and answers straight from the event loop. Responses match the servlet
+ * controller's.
+ */
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAuthController {
+
+    private final AuthService authService;
+    private final Scheduler blockingScheduler;
+    private final long retryAfterSeconds;
+
+    public ReactiveAuthController(AuthService authService,
+                                  Scheduler authBlockingScheduler,
+                                  @Value("${app.password.executor.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.authService = authService;
+        this.blockingScheduler = authBlockingScheduler;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * User login endpoint.
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> login(@Valid @RequestBody LoginRequestDto loginRequest) {
+        log.debug("Login request received for email: {}", loginRequest.getEmail());
+
+        return Mono.fromCallable(() -> authService.login(loginRequest))
+            .subscribeOn(blockingScheduler)
+            .onErrorMap(RejectedExecutionException.class, e -> new PasswordVerificationOverloadedException(
+                "Blocking auth scheduler is saturated", retryAfterSeconds))
+            .<ResponseEntity<?>>map(response -> {
+                if (response.isSuccess()) {
+                    return ResponseEntity.ok(response);
+                }
+                return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", response.getMessage()
+                ));
+            })
+            .onErrorResume(PasswordVerificationOverloadedException.class, e -> {
+                log.warn("Login rejected, password hashing saturated for email: {}", loginRequest.getEmail());
+                return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of(
+                        "success", false,
+                        "message", "Too many login attempts in progress, please retry shortly"
+                    )));
+            })
+            .onErrorResume(e -> {
+                log.error("Login error for email: {}", loginRequest.getEmail(), e);
+                return Mono.just(ResponseEntity.internalServerError().body(Map.of(
+                    "success", false,
+                    "message", "Login failed due to server error"
+                )));
+            });
+    }
+
+    /**
+     * Logout endpoint.
+     * Ends the session and revokes the bearer token in the Authorization header, whichever are sent.
+     * Runs on the blocking scheduler, since recording the audit event may wait under a BLOCK overflow policy.
+     */
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<?>> logout(@RequestHeader(value = "X-Session-ID", required = false) String sessionId,
+                                          @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        log.debug("Logout request received for session: {}", sessionId);
+
+        return Mono.fromCallable(() -> authService.logout(sessionId, JwtTokenProvider.resolveBearer(authorization)))
+            .subscribeOn(blockingScheduler)
+            .<ResponseEntity<?>>map(success -> ResponseEntity.ok(Map.of(
+                "success", success,
+                "message", "Logged out successfully"
+            )))
+            .onErrorResume(e -> {
+                log.error("Logout error for session: {}", sessionId, e);
+                return Mono.just(ResponseEntity.internalServerError().body(Map.of(
+                    "success", false,
+                    "message", "Logout failed due to server error"
+                )));
+            });
+    }
+
+    /**
+     * Validate session endpoint.
+     * A bearer token in the Authorization header takes precedence over the X-Session-ID header.
+     */
+    @GetMapping("/validate")
+    public ResponseEntity<?> validateSession(@RequestHeader(value = "X-Session-ID", required = false) String sessionId,
+                                             @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        try {
+            String token = JwtTokenProvider.resolveBearer(authorization);
+            if (token != null) {
+                return ResponseEntity.ok(Map.of(
+                    "valid", authService.validateToken(token),
+                    "tokenType", "Bearer"
+                ));
+            }
+
+            boolean valid = authService.validateSession(sessionId);
+
+            return ResponseEntity.ok(Map.of(
+                "valid", valid,
+                "sessionId", sessionId
+            ));
+
+        } catch (Exception e) {
+            log.error("Session validation error for session: {}", sessionId, e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "valid", false,
+                "message", "Session validation failed due to server error"
+            ));
+        }
+    }
+}
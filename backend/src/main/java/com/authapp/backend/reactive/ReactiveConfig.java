@@ -0,0 +1,59 @@
+package com.authapp.backend.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux configuration for the reactive profile.
+ * Security mirrors the servlet {@code SecurityConfig}: stateless, no CSRF, everything permitted.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveConfig {
+
+    /**
+     * Serve the reactive profile on Netty. The servlet stack is on the classpath too, and Boot tries
+     * Tomcat's reactive adapter before Netty, so without this the profile would run on Tomcat.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Bounded elastic scheduler for the blocking parts of the auth API: JPA lookups and waiting on the
+     * password hashing executor. Kept apart from Reactor's shared scheduler so a login burst cannot starve
+     * other blocking work, and bounded in threads and queued tasks so overload is rejected, not buffered.
+     * A thread count of 0 uses Reactor's default of ten per CPU core.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler authBlockingScheduler(@Value("${app.reactive.blocking.threads:0}") int threads,
+                                           @Value("${app.reactive.blocking.queue-capacity:1000}") int queueCapacity) {
+        int threadCap = threads > 0 ? threads : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+        return Schedulers.newBoundedElastic(threadCap, queueCapacity, "auth-blocking");
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         CorsConfigurationSource corsConfigurationSource) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .cors(cors -> cors.configurationSource(corsConfigurationSource))
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchanges -> exchanges.anyExchange().permitAll())
+            .build();
+    }
+}
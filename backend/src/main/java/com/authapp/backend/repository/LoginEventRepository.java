@@ -0,0 +1,25 @@
+package com.authapp.backend.repository;
+
+import com.authapp.backend.entity.LoginEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for reading the login audit trail; rows are inserted by {@code LoginAuditLog}.
+ */
+@Repository
+public interface LoginEventRepository extends JpaRepository<LoginEvent, Long> {
+
+    /**
+     * Newest events of a user, for the first page.
+     */
+    List<LoginEvent> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * Events of a user older than a given event, newest first; a range scan on {@code (user_id, id)}.
+     */
+    List<LoginEvent> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
+}
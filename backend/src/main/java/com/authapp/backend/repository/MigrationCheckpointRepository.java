@@ -0,0 +1,12 @@
+package com.authapp.backend.repository;
+
+import com.authapp.backend.entity.MigrationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for background migration checkpoints, keyed by migration name.
+ */
+@Repository
+public interface MigrationCheckpointRepository extends JpaRepository<MigrationCheckpoint, String> {
+}
@@ -1,38 +1,64 @@
 package com.authapp.backend.repository;
 
 import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.RoleMaskConverter;
 import com.authapp.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for User entity operations.
  * Provides CRUD operations and custom query methods.
+ * Lookups by ID and email are served from the Hibernate second-level cache when it holds the user,
+ * and the role counts from the query cache.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
-     * Find user by email address.
+     * Find user by email address, ignoring case.
      * Used for authentication and user lookup.
      *
      * @param email the email address
      * @return Optional containing the user if found
      */
-    Optional<User> findByEmail(String email);
+    default Optional<User> findByEmail(String email) {
+        return findByEmailNormalized(User.normalizeEmail(email));
+    }
 
     /**
-     * Check if a user exists with the given email.
+     * Check if a user exists with the given email, ignoring case.
      *
      * @param email the email address to check
      * @return true if user exists, false otherwise
      */
-    Boolean existsByEmail(String email);
+    default Boolean existsByEmail(String email) {
+        return existsByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    /**
+     * Check if a user exists with the given normalized email, from the email_normalized unique index alone.
+     *
+     * @param emailNormalized the email, see {@link User#normalizeEmail(String)}
+     * @return true if user exists, false otherwise
+     */
+    Boolean existsByEmailNormalized(String emailNormalized);
 
     /**
      * Find all users with a specific role.
@@ -40,8 +66,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param role the role to search for
      * @return list of users with the specified role
      */
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
-    List<User> findByRole(@Param("role") Role role);
+    default List<User> findByRole(Role role) {
+        return findByRoleMaskIn(RoleMaskConverter.masksContaining(role));
+    }
+
+    /**
+     * Find all users whose role bitmask is one of the given masks.
+     * A single-table predicate served by the role_mask index.
+     *
+     * @param masks role bitmasks, see {@link RoleMaskConverter#masksContaining(Role)}
+     * @return list of matching users
+     */
+    @Query(value = "SELECT * FROM users WHERE role_mask IN (:masks)", nativeQuery = true)
+    List<User> findByRoleMaskIn(@Param("masks") Collection<Integer> masks);
+
+    /**
+     * Find summaries of all users with a specific role, without loading entities.
+     *
+     * @param role the role to search for
+     * @return summaries of the users with the specified role
+     */
+    default List<UserSummary> findSummariesByRole(Role role) {
+        return findSummaryRowsByRoleMaskIn(RoleMaskConverter.masksContaining(role)).stream()
+                .map(UserSummary::fromRow)
+                .toList();
+    }
+
+    /**
+     * Select the summary columns of users whose role bitmask is one of the given masks.
+     * Native, like {@link #findByRoleMaskIn(Collection)}, so the IN list stays on the raw role_mask column.
+     *
+     * @param masks role bitmasks, see {@link RoleMaskConverter#masksContaining(Role)}
+     * @return rows of {@link UserSummary#COLUMNS}
+     */
+    @Query(value = "SELECT " + UserSummary.COLUMNS + " FROM users WHERE role_mask IN (:masks)", nativeQuery = true)
+    List<Object[]> findSummaryRowsByRoleMaskIn(@Param("masks") Collection<Integer> masks);
 
     /**
      * Find all enabled users.
@@ -59,9 +118,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Count total number of users.
+     * Cached in the query cache until the next write to the users table.
      *
      * @return total user count
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(u) FROM User u")
     Long countTotalUsers();
 
@@ -71,8 +132,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param role the role to count
      * @return number of users with the specified role
      */
-    @Query("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r = :role")
-    Long countByRole(@Param("role") Role role);
+    default Long countByRole(Role role) {
+        return countByRoleMaskIn(RoleMaskConverter.masksContaining(role));
+    }
+
+    /**
+     * Count users whose role bitmask is one of the given masks, from the role_mask index alone.
+     * Cached in the query cache; declaring the users table as the query space lets any write
+     * through Hibernate invalidate it.
+     *
+     * @param masks role bitmasks, see {@link RoleMaskConverter#masksContaining(Role)}
+     * @return number of matching users
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_NATIVE_SPACES, value = "users")
+    })
+    @Query(value = "SELECT COUNT(*) FROM users WHERE role_mask IN (:masks)", nativeQuery = true)
+    Long countByRoleMaskIn(@Param("masks") Collection<Integer> masks);
+
+    /**
+     * Count users per distinct role bitmask in one pass over the role_mask index.
+     * Deliberately not cached: it is the recount that corrects drift from writes Hibernate never sees.
+     *
+     * @return rows of [role_mask, user count]
+     */
+    @Query(value = "SELECT role_mask, COUNT(*) FROM users GROUP BY role_mask", nativeQuery = true)
+    List<Object[]> countGroupedByRoleMask();
+
+    /**
+     * Read a user's role bitmask without loading the entity.
+     *
+     * @param id the user ID
+     * @return the role bitmask, empty if the user does not exist
+     */
+    @Query(value = "SELECT role_mask FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Integer> findRoleMaskById(@Param("id") Long id);
 
     /**
      * Find users by email containing the search term (case insensitive).
@@ -80,6 +175,98 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param searchTerm the search term
      * @return list of users matching the search
      */
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query("SELECT u FROM User u WHERE u.emailNormalized LIKE CONCAT('%', LOWER(:searchTerm), '%')")
     List<User> findByEmailContainingIgnoreCase(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Find summaries of the users with the given IDs, in no particular order.
+     *
+     * @param ids the user IDs
+     * @return summaries of the users that exist
+     */
+    @Query(UserSummary.SELECT + "WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of user summaries in ascending ID order.
+     * Only the page size of the pageable is used; pass 0 for the first page.
+     * Like every summary query, rows are mapped straight to {@link UserSummary} without loading entities.
+     *
+     * @param afterId exclusive lower bound on the ID
+     * @param pageable page size
+     * @return the next users after the given ID
+     */
+    @Query(UserSummary.SELECT + "WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<UserSummary> findByIdGreaterThanOrderByIdAsc(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of user summaries in descending ID order.
+     * Only the page size of the pageable is used; pass {@link Long#MAX_VALUE} for the first page.
+     *
+     * @param beforeId exclusive upper bound on the ID
+     * @param pageable page size
+     * @return the next users before the given ID
+     */
+    @Query(UserSummary.SELECT + "WHERE u.id < :beforeId ORDER BY u.id DESC")
+    List<UserSummary> findByIdLessThanOrderByIdDesc(@Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * First keyset page of user summaries ordered by creation time, oldest first, ties broken by ID.
+     *
+     * @param pageable page size
+     * @return the oldest users
+     */
+    @Query(UserSummary.SELECT + "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserSummary> findAllByOrderByCreatedAtAscIdAsc(Pageable pageable);
+
+    /**
+     * First keyset page of user summaries ordered by creation time, newest first, ties broken by ID.
+     *
+     * @param pageable page size
+     * @return the newest users
+     */
+    @Query(UserSummary.SELECT + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSummary> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    /**
+     * Keyset page of user summaries created after the given position, oldest first.
+     *
+     * @param createdAt creation time of the last user on the previous page
+     * @param id ID of the last user on the previous page
+     * @param pageable page size
+     * @return the next users after the given position
+     */
+    @Query(UserSummary.SELECT + "WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) " +
+           "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserSummary> findPageCreatedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * Keyset page of user summaries created before the given position, newest first.
+     *
+     * @param createdAt creation time of the last user on the previous page
+     * @param id ID of the last user on the previous page
+     * @param pageable page size
+     * @return the next users before the given position
+     */
+    @Query(UserSummary.SELECT + "WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSummary> findPageCreatedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                            Pageable pageable);
+
+    /**
+     * Stream every user in ID order, for exports.
+     * Rows are pulled from the JDBC cursor in batches of the fetch size instead of being
+     * materialized up front, and loaded read-only so no snapshots are kept for dirty checking.
+     * Must be consumed inside a transaction and closed; callers should clear the persistence
+     * context periodically so streamed entities can be collected.
+     *
+     * @return stream of all users
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllForExport();
 }
@@ -0,0 +1,32 @@
+package com.authapp.backend.repository;
+
+import com.authapp.backend.entity.User;
+
+import java.util.Optional;
+
+/**
+ * User repository operations that need the Hibernate session or second-level cache directly.
+ * Implemented by {@link UserRepositoryCustomImpl} and mixed into {@link UserRepository}.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find user by normalized email through its natural ID, so a hit in the second-level cache
+     * needs no SQL and a miss probes the email_normalized unique index once.
+     *
+     * @param emailNormalized the email, see {@link User#normalizeEmail(String)}
+     * @return Optional containing the user if found
+     */
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    /**
+     * Delete a user and return the deleted row's role bitmask, in one statement.
+     * Uses H2's data change delta table, which yields the rows as they were before the delete (H2-only).
+     * Hibernate sees the statement as a query, so the user's entity and natural ID entries are evicted
+     * here and the users table's query spaces are invalidated as for a Hibernate write.
+     *
+     * @param id the user ID
+     * @return the deleted user's role bitmask, empty if no row was deleted
+     */
+    Optional<Integer> deleteReturningRoleMask(Long id);
+}
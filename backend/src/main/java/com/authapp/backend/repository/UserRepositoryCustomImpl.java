@@ -0,0 +1,90 @@
+package com.authapp.backend.repository;
+
+import com.authapp.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hibernate-specific part of {@link UserRepository}.
+ */
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    // H2-only: OLD TABLE (data change delta table) is not portable. PostgreSQL would need
+    // DELETE ... RETURNING, and databases without either need a SELECT ... FOR UPDATE first.
+    private static final String DELETE_RETURNING_ROLE_MASK =
+            "SELECT role_mask, email_normalized FROM OLD TABLE (DELETE FROM users WHERE id = :id)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmailNormalized(String emailNormalized) {
+        if (emailNormalized == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(emailNormalized);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Integer> deleteReturningRoleMask(Long id) {
+        List<?> rows = entityManager.createNativeQuery(DELETE_RETURNING_ROLE_MASK)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.get(0);
+        String emailNormalized = (String) row[1];
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+        // Null when the query cache is disabled
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        String[] spaces = persister.getPropertySpaces();
+        evict(session, persister, id, emailNormalized);
+        if (timestamps != null) {
+            timestamps.preInvalidate(spaces, session);
+        }
+        // Evict again once the delete commits, so a concurrent load of the old row cannot outlive it,
+        // and stamp the users table so cached queries over it go stale, as a Hibernate write would
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(session, persister, id, emailNormalized);
+                    if (timestamps != null) {
+                        timestamps.invalidate(spaces, session);
+                    }
+                }
+            });
+        } else if (timestamps != null) {
+            timestamps.invalidate(spaces, session);
+        }
+        return Optional.of(((Number) row[0]).intValue());
+    }
+
+    /**
+     * Evicts only the deleted user: its entity entry by ID and its natural ID entry by email.
+     */
+    private static void evict(SessionImplementor session, EntityPersister persister, Long id, String emailNormalized) {
+        session.getFactory().getCache().evictEntityData(User.class, id);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIds != null && emailNormalized != null) {
+            naturalIds.evict(naturalIds.generateCacheKey(emailNormalized, persister, session));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.authapp.backend.repository;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.RoleMaskConverter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Read-only projection of the user columns that listings return, without the password hash.
+ * Built straight from the result set, so listings never hydrate managed {@code User} entities:
+ * no persistence context entries, no loaded-state snapshots and nothing to dirty check at flush.
+ */
+public record UserSummary(Long id,
+                          String email,
+                          Set<Role> roles,
+                          Boolean enabled,
+                          Boolean accountNonExpired,
+                          Boolean accountNonLocked,
+                          Boolean credentialsNonExpired,
+                          LocalDateTime createdAt,
+                          LocalDateTime updatedAt) {
+
+    /**
+     * JPQL select list for the canonical constructor, shared by the repository's summary queries.
+     */
+    static final String SELECT = "SELECT new com.authapp.backend.repository.UserSummary(u.id, u.email, u.roles, "
+            + "u.enabled, u.accountNonExpired, u.accountNonLocked, u.credentialsNonExpired, u.createdAt, u.updatedAt) "
+            + "FROM User u ";
+
+    /**
+     * Native column list in the order {@link #fromRow(Object[])} reads it.
+     */
+    static final String COLUMNS = "id, email, role_mask, enabled, account_non_expired, account_non_locked, "
+            + "credentials_non_expired, created_at, updated_at";
+
+    /**
+     * Map one native row selected with {@link #COLUMNS}.
+     */
+    static UserSummary fromRow(Object[] row) {
+        return new UserSummary(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                RoleMaskConverter.fromMask(row[2] != null ? ((Number) row[2]).intValue() : 0),
+                (Boolean) row[3],
+                (Boolean) row[4],
+                (Boolean) row[5],
+                (Boolean) row[6],
+                toLocalDateTime(row[7]),
+                toLocalDateTime(row[8]));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,358 @@
+package com.authapp.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed radix tree of lower-cased email addresses for prefix autocomplete.
+ * Each edge carries a run of characters, so a node exists only where two emails diverge or one ends;
+ * children are kept sorted by their first character. Completing a prefix walks down the prefix and
+ * then emits the subtree in code point order, stopping after the requested number of matches, so
+ * the cost depends on the prefix length and the limit rather than on how many emails are indexed.
+ * Removing an email prunes its leaf and merges any node left with a single child, so the tree never
+ * holds more than one node per indexed email plus one per branching point.
+ * Thread-safe: lookups share a read lock, writes take the write lock.
+ */
+public class EmailRadixTree {
+
+    private static final long NO_USER = Long.MIN_VALUE;
+
+    // Shallow sizes on a 64-bit JVM with compressed oops, used by estimatedBytes()
+    private static final int NODE_BYTES = 32;
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int MAP_ENTRY_BYTES = 32 + 16 + 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("", NO_USER);
+    private final Map<Long, String> emailByUserId = new HashMap<>();
+
+    /**
+     * One completion.
+     *
+     * @param userId the user ID
+     * @param email the user's email, lower-cased
+     */
+    public record Suggestion(long userId, String email) {
+    }
+
+    /**
+     * Index a user's email, replacing any email indexed for the user before.
+     *
+     * @param userId the user ID
+     * @param email the email address
+     */
+    public void put(long userId, String email) {
+        String key = normalize(email);
+        if (key.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            String previous = emailByUserId.get(userId);
+            if (key.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                removeLocked(previous);
+            }
+            long displaced = insertLocked(key, userId);
+            if (displaced != NO_USER) {
+                emailByUserId.remove(displaced);
+            }
+            emailByUserId.put(userId, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a user from the tree.
+     *
+     * @param userId the user ID
+     */
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            String email = emailByUserId.remove(userId);
+            if (email != null) {
+                removeLocked(email);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed users
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return emailByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the first emails, in code point order, starting with the prefix, ignoring case.
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of completions to return
+     * @return up to {@code limit} completions in code point order
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            StringBuilder path = new StringBuilder(64).append(key);
+            while (matched < key.length()) {
+                node = node.child(key.charAt(matched));
+                if (node == null) {
+                    return List.of();
+                }
+                int overlap = Math.min(node.label.length(), key.length() - matched);
+                if (!node.label.regionMatches(0, key, matched, overlap)) {
+                    return List.of();
+                }
+                matched += overlap;
+                // The prefix may end part-way along this edge; the rest of the label is completion
+                path.append(node.label, overlap, node.label.length());
+            }
+            List<Suggestion> found = new ArrayList<>(Math.min(limit, 64));
+            collect(node, path, found, limit);
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap retained by the tree and its user lookup, in bytes.
+     * Walks every node, so it is meant for metrics and benchmarks rather than the request path.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = estimate(root);
+            for (String email : emailByUserId.values()) {
+                bytes += MAP_ENTRY_BYTES + stringBytes(email);
+            }
+            // HashMap table: a power-of-two array of references at the default load factor
+            long slots = Integer.highestOneBit(Math.max(1, emailByUserId.size() * 4 / 3)) * 2L;
+            return bytes + align(ARRAY_HEADER_BYTES + 4 * slots);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Emit the subtree in code point order until the limit is reached.
+     *
+     * @return false once the limit has been reached
+     */
+    private static boolean collect(Node node, StringBuilder path, List<Suggestion> found, int limit) {
+        if (node.userId != NO_USER) {
+            found.add(new Suggestion(node.userId, path.toString()));
+            if (found.size() == limit) {
+                return false;
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            Node child = node.children[i];
+            int length = path.length();
+            path.append(child.label);
+            boolean more = collect(child, path, found, limit);
+            path.setLength(length);
+            if (!more) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the user previously stored under the same key, or {@link #NO_USER}
+     */
+    private long insertLocked(String key, long userId) {
+        Node node = root;
+        int at = 0;
+        while (at < key.length()) {
+            char first = key.charAt(at);
+            Node child = node.child(first);
+            if (child == null) {
+                node.addChild(new Node(key.substring(at), userId));
+                return NO_USER;
+            }
+            int common = commonPrefix(child.label, key, at);
+            if (common == child.label.length()) {
+                node = child;
+                at += common;
+                continue;
+            }
+            // Split the edge where the key diverges; the existing child keeps its subtree
+            Node middle = new Node(child.label.substring(0, common), NO_USER);
+            child.label = child.label.substring(common);
+            middle.addChild(child);
+            node.replaceChild(first, middle);
+            if (at + common == key.length()) {
+                middle.userId = userId;
+            } else {
+                middle.addChild(new Node(key.substring(at + common), userId));
+            }
+            return NO_USER;
+        }
+        long displaced = node.userId;
+        node.userId = userId;
+        return displaced;
+    }
+
+    private void removeLocked(String key) {
+        Node parent = null;
+        Node node = root;
+        int at = 0;
+        while (at < key.length()) {
+            Node child = node.child(key.charAt(at));
+            if (child == null || !key.startsWith(child.label, at)) {
+                return;
+            }
+            parent = node;
+            node = child;
+            at += child.label.length();
+        }
+        if (parent == null) {
+            return;
+        }
+        node.userId = NO_USER;
+        if (node.childCount == 0) {
+            parent.removeChild(node.label.charAt(0));
+            if (parent != root && parent.userId == NO_USER && parent.childCount == 1) {
+                parent.absorbOnlyChild();
+            }
+        } else if (node.childCount == 1) {
+            node.absorbOnlyChild();
+        }
+    }
+
+    private static long estimate(Node node) {
+        long bytes = NODE_BYTES + stringBytes(node.label);
+        if (node.children != null) {
+            bytes += align(ARRAY_HEADER_BYTES + 2L * node.firstChars.length)
+                    + align(ARRAY_HEADER_BYTES + 4L * node.children.length);
+            for (int i = 0; i < node.childCount; i++) {
+                bytes += estimate(node.children[i]);
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String s) {
+        // Compact strings store Latin-1 text one byte per character
+        return STRING_BYTES + align(ARRAY_HEADER_BYTES + s.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static int commonPrefix(String label, String key, int at) {
+        int max = Math.min(label.length(), key.length() - at);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(at + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Tree node; {@code label} is the run of characters on the edge from its parent.
+     * Children are held in exactly-sized arrays sorted by first character, since fan-out is small
+     * and most nodes are leaves.
+     */
+    private static final class Node {
+
+        private String label;
+        private long userId;
+        private char[] firstChars;
+        private Node[] children;
+        private int childCount;
+
+        Node(String label, long userId) {
+            this.label = label;
+            this.userId = userId;
+        }
+
+        Node child(char first) {
+            int slot = slot(first);
+            return slot >= 0 ? children[slot] : null;
+        }
+
+        void addChild(Node child) {
+            char first = child.label.charAt(0);
+            int insertAt = -slot(first) - 1;
+            if (children == null) {
+                firstChars = new char[1];
+                children = new Node[1];
+            } else if (childCount == children.length) {
+                firstChars = Arrays.copyOf(firstChars, childCount + 1);
+                children = Arrays.copyOf(children, childCount + 1);
+            }
+            System.arraycopy(firstChars, insertAt, firstChars, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            firstChars[insertAt] = first;
+            children[insertAt] = child;
+            childCount++;
+        }
+
+        void replaceChild(char first, Node child) {
+            children[slot(first)] = child;
+        }
+
+        void removeChild(char first) {
+            int slot = slot(first);
+            int tail = childCount - slot - 1;
+            System.arraycopy(firstChars, slot + 1, firstChars, slot, tail);
+            System.arraycopy(children, slot + 1, children, slot, tail);
+            childCount--;
+            if (childCount == 0) {
+                firstChars = null;
+                children = null;
+            } else {
+                firstChars = Arrays.copyOf(firstChars, childCount);
+                children = Arrays.copyOf(children, childCount);
+            }
+        }
+
+        /**
+         * Merge the single remaining child into this node, keeping this node's first character.
+         */
+        void absorbOnlyChild() {
+            Node only = children[0];
+            label = label + only.label;
+            userId = only.userId;
+            firstChars = only.firstChars;
+            children = only.children;
+            childCount = only.childCount;
+        }
+
+        private int slot(char first) {
+            return children == null ? -1 : Arrays.binarySearch(firstChars, 0, childCount, first);
+        }
+    }
+}
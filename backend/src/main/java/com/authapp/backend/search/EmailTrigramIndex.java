@@ -0,0 +1,331 @@
+package com.authapp.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over email addresses for case-insensitive substring search.
+ * Every email is lower-cased and stored as a document; each of its three-character substrings maps to
+ * a posting list of the documents containing it. A search for a term of three or more characters
+ * intersects the posting lists of the term's trigrams, smallest first, and only checks the surviving
+ * candidates with {@code indexOf}; shorter terms fall back to scanning the stored emails.
+ * Documents are numbered in insertion order, so posting lists stay sorted by construction. Removing a
+ * user only tombstones its document; the index is rebuilt once tombstones outnumber live documents.
+ * Thread-safe: searches share a read lock, writes take the write lock.
+ */
+public class EmailTrigramIndex {
+
+    static final int GRAM = 3;
+
+    /** Characters after which a match counts as the start of a word. */
+    private static final String WORD_BREAKS = ".@_-+";
+
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::rank)
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(Hit::userId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByUserId = new HashMap<>();
+    private long[] userIds = new long[1024];
+    private String[] emails = new String[1024];
+    private int docs;
+    private int live;
+
+    /**
+     * A page of ranked matches.
+     *
+     * @param userIds matching user IDs, best match first
+     * @param total number of matches across all pages
+     */
+    public record Page(List<Long> userIds, int total) {
+    }
+
+    private record Hit(int rank, int length, long userId) {
+    }
+
+    /**
+     * Index a user's email, replacing any email indexed for the user before.
+     *
+     * @param userId the user ID
+     * @param email the email address
+     */
+    public void put(long userId, String email) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+            addLocked(userId, normalize(email));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a user from the index.
+     *
+     * @param userId the user ID
+     */
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+            if (docs - live > Math.max(MIN_COMPACTION_TOMBSTONES, live)) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop every user from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docByUserId.clear();
+            Arrays.fill(emails, 0, docs, null);
+            docs = 0;
+            live = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed users
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find users whose email contains the term, ignoring case.
+     * Matches are ranked: emails starting with the term first, then emails where the term starts a
+     * word (after one of {@code . @ _ - +}), then the rest; ties go to the shorter email, then the
+     * lower user ID.
+     *
+     * @param term the substring to look for
+     * @param offset number of ranked matches to skip
+     * @param limit maximum number of matches to return
+     * @return the requested page of matches and the total number of matches
+     */
+    public Page search(String term, int offset, int limit) {
+        String needle = normalize(term);
+        if (needle.isEmpty() || limit <= 0) {
+            return new Page(List.of(), 0);
+        }
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) {
+                for (int doc = 0; doc < docs; doc++) {
+                    total += collect(doc, needle, best, keep);
+                }
+            } else {
+                Postings[] lists = postingsFor(needle);
+                if (lists != null) {
+                    total = intersect(lists, needle, best, keep);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<Long> page = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                .map(Hit::userId)
+                .toList();
+        return new Page(page, total);
+    }
+
+    /**
+     * Walk the smallest posting list and keep documents present in every other list.
+     * The other lists are probed with a galloping search that resumes where the last probe ended.
+     */
+    private int intersect(Postings[] lists, String needle, PriorityQueue<Hit> best, int keep) {
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] cursors = new int[lists.length];
+        Postings driver = lists[0];
+        int total = 0;
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            int doc = driver.docs[i];
+            for (int l = 1; l < lists.length; l++) {
+                cursors[l] = lists[l].seek(cursors[l], doc);
+                if (cursors[l] == lists[l].size) {
+                    break candidates;
+                }
+                if (lists[l].docs[cursors[l]] != doc) {
+                    continue candidates;
+                }
+            }
+            total += collect(doc, needle, best, keep);
+        }
+        return total;
+    }
+
+    /**
+     * Verify a candidate document and offer it to the running top matches.
+     *
+     * @return 1 if the document matches, 0 otherwise
+     */
+    private int collect(int doc, String needle, PriorityQueue<Hit> best, int keep) {
+        String email = emails[doc];
+        if (email == null) {
+            return 0;
+        }
+        int position = email.indexOf(needle);
+        if (position < 0) {
+            return 0;
+        }
+        int rank = position == 0 ? 0 : WORD_BREAKS.indexOf(email.charAt(position - 1)) >= 0 ? 1 : 2;
+        Hit hit = new Hit(rank, email.length(), userIds[doc]);
+        if (best.size() < keep) {
+            best.add(hit);
+        } else if (RANKING.compare(hit, best.peek()) < 0) {
+            best.poll();
+            best.add(hit);
+        }
+        return 1;
+    }
+
+    /**
+     * @return the posting lists of every distinct trigram of the term, or null if one has none
+     */
+    private Postings[] postingsFor(String needle) {
+        List<Postings> lists = new ArrayList<>();
+        List<Long> seen = new ArrayList<>();
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            long key = trigram(needle, i);
+            if (seen.contains(key)) {
+                continue;
+            }
+            seen.add(key);
+            Postings list = postings.get(key);
+            if (list == null) {
+                return null;
+            }
+            lists.add(list);
+        }
+        return lists.toArray(Postings[]::new);
+    }
+
+    private void addLocked(long userId, String email) {
+        if (docs == emails.length) {
+            userIds = Arrays.copyOf(userIds, docs * 2);
+            emails = Arrays.copyOf(emails, docs * 2);
+        }
+        int doc = docs++;
+        userIds[doc] = userId;
+        emails[doc] = email;
+        docByUserId.put(userId, doc);
+        live++;
+        for (int i = 0; i + GRAM <= email.length(); i++) {
+            postings.computeIfAbsent(trigram(email, i), key -> new Postings()).append(doc);
+        }
+    }
+
+    private void removeLocked(long userId) {
+        Integer doc = docByUserId.remove(userId);
+        if (doc != null) {
+            emails[doc] = null;
+            live--;
+        }
+    }
+
+    private void compactLocked() {
+        long[] liveIds = new long[live];
+        String[] liveEmails = new String[live];
+        int n = 0;
+        for (int doc = 0; doc < docs; doc++) {
+            if (emails[doc] != null) {
+                liveIds[n] = userIds[doc];
+                liveEmails[n++] = emails[doc];
+            }
+        }
+        postings.clear();
+        docByUserId.clear();
+        Arrays.fill(emails, 0, docs, null);
+        docs = 0;
+        live = 0;
+        for (int i = 0; i < n; i++) {
+            addLocked(liveIds[i], liveEmails[i]);
+        }
+    }
+
+    private static long trigram(String s, int at) {
+        return (long) s.charAt(at) << 32 | (long) s.charAt(at + 1) << 16 | s.charAt(at + 2);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Growable, ascending list of document numbers.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        /**
+         * Append a document; documents arrive in ascending order, and a repeated trigram within
+         * one email appends the same document twice, which is skipped.
+         */
+        void append(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * @return index of the first document at or after {@code from} that is >= target, or size
+         */
+        int seek(int from, int target) {
+            int bound = 1;
+            while (from + bound < size && docs[from + bound] < target) {
+                bound <<= 1;
+            }
+            int low = from;
+            int high = Math.min(from + bound, size - 1);
+            if (high < low || docs[high] < target) {
+                return size;
+            }
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
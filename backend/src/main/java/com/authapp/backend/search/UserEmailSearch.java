@@ -0,0 +1,69 @@
+package com.authapp.backend.search;
+
+import com.authapp.backend.service.UserChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Keeps an {@link EmailTrigramIndex} of every user's email in step with the users table.
+ * The index is built from one streamed query at startup and then follows committed
+ * {@link UserChangedEvent}s, so substring searches never scan the table.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class UserEmailSearch {
+
+    private final EmailTrigramIndex index = new EmailTrigramIndex();
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserEmailSearch(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("search.email.indexed", index, EmailTrigramIndex::size)
+                .description("Users in the in-memory email search index")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        long started = System.nanoTime();
+        index.clear();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id, email FROM users");
+            statement.setFetchSize(1000);
+            return statement;
+        }, (ResultSet row) -> index.put(row.getLong(1), row.getString(2)));
+        log.info("Indexed {} user emails for search in {} ms", index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDeleted()) {
+            index.remove(event.id());
+        } else {
+            index.put(event.id(), event.email());
+        }
+    }
+
+    /**
+     * Find users whose email contains the term, ignoring case, best match first.
+     *
+     * @param term the substring to look for
+     * @param offset number of ranked matches to skip
+     * @param limit maximum number of matches to return
+     * @return the matching user IDs and the total number of matches
+     * @see EmailTrigramIndex#search(String, int, int)
+     */
+    public EmailTrigramIndex.Page search(String term, int offset, int limit) {
+        return index.search(term, offset, limit);
+    }
+}
@@ -0,0 +1,90 @@
+package com.authapp.backend.security;
+
+import com.authapp.backend.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates requests from an {@code Authorization: Bearer} JWT alone, without touching the database.
+ * The token is verified by {@link JwtTokenProvider}, whose cache skips the HMAC check for hot tokens, and
+ * the authenticated, immutable {@link UsernamePasswordAuthenticationToken} built from it is cached by token
+ * ID, so a repeat request builds its {@code SecurityContext} from two cache hits and no new objects beyond
+ * the context itself. A missing or invalid token leaves the request anonymous for
+ * the authorization rules to decide. A revoked token fails verification, so its cached authentication
+ * is never used again. Time spent here is recorded in the {@code auth.token.authentication} timer.
+ * Not a bean, so it runs only inside the security filter chain and is not also registered as a servlet filter.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final Cache<String, UsernamePasswordAuthenticationToken> authenticationsByTokenId;
+    private final Timer timer;
+
+    /**
+     * @param cacheSize tokens whose authentication is kept
+     * @param tokenLifetime how long a token is valid; cached authentications never outlive it
+     */
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, int cacheSize, Duration tokenLifetime,
+                                   MeterRegistry meterRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.authenticationsByTokenId = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(tokenLifetime)
+                .build();
+        this.timer = Timer.builder("auth.token.authentication")
+                .description("Time spent building the security context from a bearer token")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = JwtTokenProvider.resolveBearer(request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (token != null) {
+            long started = System.nanoTime();
+            authenticate(token);
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void authenticate(String token) {
+        Optional<TokenPrincipal> verified = jwtTokenProvider.verify(token);
+        if (verified.isEmpty()) {
+            return;
+        }
+        TokenPrincipal principal = verified.get();
+        UsernamePasswordAuthenticationToken authentication = authenticationsByTokenId.get(principal.getTokenId(),
+                tokenId -> UsernamePasswordAuthenticationToken.authenticated(principal, null, authoritiesOf(principal)));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    private static List<GrantedAuthority> authoritiesOf(TokenPrincipal principal) {
+        // Role names already carry the ROLE_ prefix that hasRole() checks for
+        return principal.getRoles().stream()
+                .map(Role::name)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
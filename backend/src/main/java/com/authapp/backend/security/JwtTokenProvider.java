@@ -0,0 +1,241 @@
+package com.authapp.backend.security;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.service.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Issues and verifies stateless HMAC-signed JWTs.
+ * The signing key and parser are built once at startup. Verified tokens are remembered
+ * by their SHA-256 digest in a small bounded cache, so a hot token skips the HMAC check
+ * and JSON parsing on repeat validations.
+ * Tokens can be revoked before they expire: singly by token ID on logout, or every token of a
+ * user issued before a cutoff, after a password change or deletion. Both denylists live in memory
+ * and forget an entry once every token it could match has expired anyway; being per instance, a
+ * revocation is not seen by other nodes or after a restart.
+ */
+@Component
+@Slf4j
+public class JwtTokenProvider {
+
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLES = "roles";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMillis;
+    private final Clock clock;
+    private final Cache<TokenDigest, TokenPrincipal> verifiedTokens;
+    private final Cache<String, Boolean> revokedTokenIds;
+    private final Cache<Long, Long> revokedBeforeByUserId;
+
+    @Autowired
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String secret,
+                            @Value("${app.jwt.expiration}") long expirationMillis,
+                            @Value("${app.jwt.cache-size:10000}") int cacheSize) {
+        this(secret, expirationMillis, cacheSize, Clock.systemUTC());
+    }
+
+    public JwtTokenProvider(String secret, long expirationMillis, int cacheSize, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.expirationMillis = expirationMillis;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .clock(() -> new Date(clock.millis()))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(expirationMillis))
+                .build();
+        this.revokedBeforeByUserId = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(expirationMillis))
+                .build();
+        log.info("JWT provider initialized with {} ms expiration and {} cached tokens", expirationMillis, cacheSize);
+    }
+
+    /**
+     * Issue a signed token for an authenticated user.
+     *
+     * @param userId the user ID
+     * @param email the user's email, used as the subject
+     * @param roles the user's roles
+     * @return the compact JWT
+     */
+    public String issue(Long userId, String email, Collection<Role> roles) {
+        long now = clock.millis();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(email)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLES, roles.stream().map(Role::name).toList())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationMillis))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Verify a token's signature, expiry and that it has not been revoked.
+     *
+     * @param token the compact JWT
+     * @return Optional containing the token's principal if the token is valid
+     */
+    public Optional<TokenPrincipal> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        TokenDigest digest = TokenDigest.of(token);
+        TokenPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (cached.isExpired(now)) {
+                verifiedTokens.invalidate(digest);
+                return Optional.empty();
+            }
+            return isRevoked(cached) ? Optional.empty() : Optional.of(cached);
+        }
+        try {
+            TokenPrincipal principal = toPrincipal(parser.parseSignedClaims(token).getPayload());
+            verifiedTokens.put(digest, principal);
+            return isRevoked(principal) ? Optional.empty() : Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Revoke a single token, as on logout.
+     *
+     * @param token the compact JWT
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revoke(String token) {
+        Optional<TokenPrincipal> principal = verify(token);
+        principal.ifPresent(p -> revokedTokenIds.put(p.getTokenId(), Boolean.TRUE));
+        return principal.isPresent();
+    }
+
+    /**
+     * Revoke every token issued to a user so far, as after a password change.
+     * Token issue times have second precision, so the cutoff is the start of the current second:
+     * a token issued right after this call is never caught, at the price of tokens issued earlier
+     * within the same second surviving.
+     *
+     * @param userId the user ID
+     */
+    public void revokeIssuedBefore(Long userId) {
+        long cutoff = clock.millis() / 1000 * 1000;
+        revokedBeforeByUserId.asMap().merge(userId, cutoff, Math::max);
+    }
+
+    /**
+     * Revoke the tokens of a deleted user.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDeleted()) {
+            revokeIssuedBefore(event.id());
+        }
+    }
+
+    private boolean isRevoked(TokenPrincipal principal) {
+        if (principal.getTokenId() != null && revokedTokenIds.getIfPresent(principal.getTokenId()) != null) {
+            return true;
+        }
+        Long cutoff = principal.getUserId() != null ? revokedBeforeByUserId.getIfPresent(principal.getUserId()) : null;
+        return cutoff != null && principal.getIssuedAt() < cutoff;
+    }
+
+    /**
+     * Get the expiration time of tokens issued now.
+     *
+     * @return expiry as epoch milliseconds
+     */
+    public long expiresAtFromNow() {
+        return clock.millis() + expirationMillis;
+    }
+
+    /**
+     * Extract the token from an {@code Authorization: Bearer ...} header value.
+     *
+     * @param header the header value, may be null
+     * @return the token, or null if the header is not a bearer credential
+     */
+    public static String resolveBearer(String header) {
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static TokenPrincipal toPrincipal(Claims claims) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        Object rawRoles = claims.get(CLAIM_ROLES);
+        if (rawRoles instanceof Collection<?> names) {
+            for (Object name : names) {
+                roles.add(Role.valueOf(name.toString()));
+            }
+        }
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        return TokenPrincipal.builder()
+                .tokenId(claims.getId())
+                .userId(userId != null ? userId.longValue() : null)
+                .email(claims.getSubject())
+                .roles(Set.copyOf(roles))
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L)
+                .expiresAt(claims.getExpiration().getTime())
+                .build();
+    }
+
+    /**
+     * SHA-256 of a token, used as the cache key so raw tokens are never retained.
+     */
+    private record TokenDigest(long w0, long w1, long w2, long w3) {
+
+        static TokenDigest of(String token) {
+            MessageDigest sha = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(sha.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+}
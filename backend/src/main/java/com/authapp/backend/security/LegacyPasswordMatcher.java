@@ -0,0 +1,67 @@
+package com.authapp.backend.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher for passwords stored without an {id} prefix.
+ * Those are either raw BCrypt hashes or plaintext left over from before hashing was
+ * introduced; the latter are compared in constant time until the background migration
+ * or a rehash-on-login replaces them. Encoding delegates to BCrypt, so it never produces plaintext.
+ */
+public class LegacyPasswordMatcher implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+
+    private final PasswordEncoder bcrypt;
+
+    public LegacyPasswordMatcher(PasswordEncoder bcrypt) {
+        this.bcrypt = bcrypt;
+    }
+
+    /**
+     * Check whether a stored value is a BCrypt hash rather than legacy plaintext.
+     *
+     * @param storedPassword the stored password value
+     * @return true if it looks like a BCrypt hash
+     */
+    public static boolean isBCryptHash(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    /**
+     * Check whether a stored value is already hashed: a well-formed BCrypt hash, raw or with the
+     * {@code {bcrypt}} prefix. Anything else, including plaintext that happens to start with "{", is not.
+     *
+     * @param storedPassword the stored password value
+     * @return true if it needs no hashing
+     */
+    public static boolean isEncoded(String storedPassword) {
+        if (storedPassword != null && storedPassword.startsWith(BCRYPT_PREFIX)) {
+            return isBCryptHash(storedPassword.substring(BCRYPT_PREFIX.length()));
+        }
+        return isBCryptHash(storedPassword);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bcrypt.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (isBCryptHash(storedPassword)) {
+            return bcrypt.matches(rawPassword, storedPassword);
+        }
+        return MessageDigest.isEqual(
+                rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+}
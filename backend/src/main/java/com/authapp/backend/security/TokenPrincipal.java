@@ -0,0 +1,27 @@
+package com.authapp.backend.security;
+
+import com.authapp.backend.entity.Role;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Identity carried by a verified JWT.
+ * Immutable, so a single instance can be shared through the verified-token cache.
+ */
+@Value
+@Builder
+public class TokenPrincipal {
+
+    String tokenId;
+    Long userId;
+    String email;
+    Set<Role> roles;
+    long issuedAt;
+    long expiresAt;
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
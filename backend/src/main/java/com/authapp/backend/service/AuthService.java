@@ -1,18 +1,24 @@
 package com.authapp.backend.service;
 
+import com.authapp.backend.audit.LoginAuditLog;
 import com.authapp.backend.dto.ChangePasswordRequestDto;
 import com.authapp.backend.dto.LoginRequestDto;
 import com.authapp.backend.dto.LoginResponseDto;
+import com.authapp.backend.entity.LoginEventType;
 import com.authapp.backend.entity.User;
-import com.authapp.backend.repository.UserRepository;
+import com.authapp.backend.logging.LogSamplingFilter;
+import com.authapp.backend.security.JwtTokenProvider;
+import com.authapp.backend.security.TokenPrincipal;
+import com.authapp.backend.session.Session;
+import com.authapp.backend.session.SessionStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Service for authentication operations.
@@ -21,27 +27,38 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
-    
-    private final UserRepository userRepository;
+
+    /** Failed login messages. */
+    private static final String INVALID_CREDENTIALS_MESSAGE = "Invalid email or password";
+    private static final String ACCOUNT_DISABLED_MESSAGE = "Account is disabled";
+    private static final String LOGIN_ERROR_MESSAGE = "Login failed due to server error";
+
+    private final UserService userService;
+    private final SessionStore sessionStore;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordVerificationService passwordVerificationService;
+    private final LastLoginTracker lastLoginTracker;
+    private final LoginAuditLog loginAuditLog;
     
     /**
      * Authenticate user with email and password.
-     * Note: This is basic authentication without encryption for demo purposes.
-     * In production, passwords should be encrypted with BCrypt.
+     * Deliberately not transactional: the BCrypt check runs on the hashing executor,
+     * and no database connection should be held while it waits there.
      */
-    @Transactional
     public LoginResponseDto login(LoginRequestDto loginRequest) {
-        log.info("Login attempt for email: {}", loginRequest.getEmail());
+        log.debug("Login attempt for email: {}", loginRequest.getEmail());
         
         try {
             // Find user by email
-            Optional<User> userOptional = userRepository.findByEmail(loginRequest.getEmail());
+            Optional<User> userOptional = userService.findByEmail(loginRequest.getEmail());
             
             if (userOptional.isEmpty()) {
                 log.warn("Login failed: User not found for email: {}", loginRequest.getEmail());
+                loginAuditLog.record(LoginEventType.LOGIN_FAILED, null, loginRequest.getEmail(), LoginAuditLog.USER_NOT_FOUND);
                 return LoginResponseDto.builder()
                     .success(false)
-                    .message("Invalid email or password")
+                    .message(INVALID_CREDENTIALS_MESSAGE)
+                    .outcome(LoginResponseDto.Outcome.BAD_CREDENTIALS)
                     .build();
             }
             
@@ -50,64 +67,102 @@ public class AuthService {
             // Check if user is enabled
             if (!user.getEnabled()) {
                 log.warn("Login failed: User account is disabled for email: {}", loginRequest.getEmail());
+                loginAuditLog.record(LoginEventType.LOGIN_FAILED, user.getId(), user.getEmail(), LoginAuditLog.ACCOUNT_DISABLED);
                 return LoginResponseDto.builder()
                     .success(false)
-                    .message("Account is disabled")
+                    .message(ACCOUNT_DISABLED_MESSAGE)
+                    .outcome(LoginResponseDto.Outcome.DISABLED)
                     .build();
             }
             
-            // Verify password (plain text comparison for demo - use BCrypt in production)
-            if (!loginRequest.getPassword().equals(user.getPassword())) {
+            // Verify password on the bounded hashing executor
+            if (!passwordVerificationService.matches(loginRequest.getPassword(), user.getPassword())) {
                 log.warn("Login failed: Invalid password for email: {}", loginRequest.getEmail());
+                loginAuditLog.record(LoginEventType.LOGIN_FAILED, user.getId(), user.getEmail(), LoginAuditLog.BAD_CREDENTIALS);
                 return LoginResponseDto.builder()
                     .success(false)
-                    .message("Invalid email or password")
+                    .message(INVALID_CREDENTIALS_MESSAGE)
+                    .outcome(LoginResponseDto.Outcome.BAD_CREDENTIALS)
                     .build();
             }
             
-            // Update last login (we'll add this field to User entity)
-            // For now, we'll just log it
-            log.info("Login successful for user: {}", user.getEmail());
+            // Transparently upgrade outdated hashes while we still have the raw password
+            upgradePasswordIfNeeded(user, loginRequest.getPassword());
             
-            // Create session info (basic session without Redis/database storage)
-            String sessionId = UUID.randomUUID().toString();
-            LocalDateTime sessionExpiry = LocalDateTime.now().plusHours(24); // 24 hour session
+            // Buffered and written behind, so the login itself does no database write
+            LocalDateTime loginTime = LocalDateTime.now();
+            lastLoginTracker.record(user.getId(), loginTime);
+            loginAuditLog.record(LoginEventType.LOGIN_SUCCEEDED, user.getId(), user.getEmail(), null);
+            log.info(LogSamplingFilter.SAMPLED, "Login successful for user: {}", user.getEmail());
+            
+            // Register the session in the in-memory session store
+            Session session = sessionStore.create(user.getId(), user.getEmail());
+            LocalDateTime sessionExpiry = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(session.getExpiresAt()), ZoneId.systemDefault());
+            String token = jwtTokenProvider.issue(user.getId(), user.getEmail(), user.getRoles());
             
             return LoginResponseDto.builder()
                 .success(true)
                 .message("Login successful")
+                .outcome(LoginResponseDto.Outcome.SUCCEEDED)
                 .id(user.getId())
                 .email(user.getEmail())
                 .roles(user.getRoles())
                 .enabled(user.getEnabled())
-                .lastLogin(LocalDateTime.now())
-                .sessionId(sessionId)
+                .lastLogin(loginTime)
+                .sessionId(session.getId())
                 .sessionExpiry(sessionExpiry)
+                .token(token)
+                .tokenType("Bearer")
                 .build();
                 
+        } catch (PasswordVerificationOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Login error for email: {}", loginRequest.getEmail(), e);
             return LoginResponseDto.builder()
                 .success(false)
-                .message("Login failed due to server error")
+                .message(LOGIN_ERROR_MESSAGE)
+                .outcome(LoginResponseDto.Outcome.ERROR)
                 .build();
         }
     }
     
+    /**
+     * Re-encode a successfully verified password whose stored hash uses an older cost or format.
+     * A failed upgrade is logged and never fails the login; it will be retried next time.
+     */
+    private void upgradePasswordIfNeeded(User user, String rawPassword) {
+        if (!passwordVerificationService.needsUpgrade(user.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = passwordVerificationService.encode(rawPassword);
+            if (userService.updatePassword(user.getId(), user.getPassword(), upgraded)) {
+                log.info("Upgraded password hash for user: {}", user.getEmail());
+            }
+        } catch (PasswordVerificationOverloadedException e) {
+            log.debug("Skipped password hash upgrade under load for user: {}", user.getEmail());
+        } catch (Exception e) {
+            log.warn("Password hash upgrade failed for user: {}", user.getEmail(), e);
+        }
+    }
+    
     /**
      * Change user password.
-     * Note: This is basic password change without encryption for demo purposes.
+     * Not transactional for the same reason as {@link #login}; the save runs in its own transaction.
      */
-    @Transactional
     public boolean changePassword(ChangePasswordRequestDto changePasswordRequest) {
-        log.info("Password change attempt for email: {}", changePasswordRequest.getEmail());
+        log.debug("Password change attempt for email: {}", changePasswordRequest.getEmail());
         
         try {
             // Find user by email
-            Optional<User> userOptional = userRepository.findByEmail(changePasswordRequest.getEmail());
+            Optional<User> userOptional = userService.findByEmail(changePasswordRequest.getEmail());
             
             if (userOptional.isEmpty()) {
                 log.warn("Password change failed: User not found for email: {}", changePasswordRequest.getEmail());
+                loginAuditLog.record(LoginEventType.PASSWORD_CHANGE_FAILED, null, changePasswordRequest.getEmail(),
+                        LoginAuditLog.USER_NOT_FOUND);
                 return false;
             }
             
@@ -116,22 +171,37 @@ public class AuthService {
             // Check if user is enabled
             if (!user.getEnabled()) {
                 log.warn("Password change failed: User account is disabled for email: {}", changePasswordRequest.getEmail());
+                loginAuditLog.record(LoginEventType.PASSWORD_CHANGE_FAILED, user.getId(), user.getEmail(),
+                        LoginAuditLog.ACCOUNT_DISABLED);
                 return false;
             }
             
-            // Verify current password (plain text comparison for demo)
-            if (!changePasswordRequest.getCurrentPassword().equals(user.getPassword())) {
+            // Verify current password on the bounded hashing executor
+            if (!passwordVerificationService.matches(changePasswordRequest.getCurrentPassword(), user.getPassword())) {
                 log.warn("Password change failed: Invalid current password for email: {}", changePasswordRequest.getEmail());
+                loginAuditLog.record(LoginEventType.PASSWORD_CHANGE_FAILED, user.getId(), user.getEmail(),
+                        LoginAuditLog.BAD_CREDENTIALS);
                 return false;
             }
             
-            // Update password (plain text for demo - use BCrypt in production)
-            user.setPassword(changePasswordRequest.getNewPassword());
-            userRepository.save(user);
+            // Store the new password hashed, unless it was changed since it was verified
+            String newPassword = passwordVerificationService.encode(changePasswordRequest.getNewPassword());
+            if (!userService.updatePassword(user.getId(), user.getPassword(), newPassword)) {
+                log.warn("Password change failed: Password changed concurrently for email: {}",
+                        changePasswordRequest.getEmail());
+                loginAuditLog.record(LoginEventType.PASSWORD_CHANGE_FAILED, user.getId(), user.getEmail(),
+                        LoginAuditLog.BAD_CREDENTIALS);
+                return false;
+            }
+            // Tokens issued under the old password must not outlive it
+            jwtTokenProvider.revokeIssuedBefore(user.getId());
             
+            loginAuditLog.record(LoginEventType.PASSWORD_CHANGED, user.getId(), user.getEmail(), null);
             log.info("Password changed successfully for user: {}", user.getEmail());
             return true;
             
+        } catch (PasswordVerificationOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Password change error for email: {}", changePasswordRequest.getEmail(), e);
             return false;
@@ -139,21 +209,37 @@ public class AuthService {
     }
     
     /**
-     * Validate session (basic validation without database storage).
-     * In production, this would check a session store (Redis, database, etc.)
+     * Validate session against the in-memory session store.
      */
     public boolean validateSession(String sessionId) {
-        // Basic validation - in production this would check against a session store
-        return sessionId != null && !sessionId.trim().isEmpty();
+        return sessionStore.isValid(sessionId);
     }
     
     /**
-     * Logout user (invalidate session).
-     * In production, this would remove the session from the session store.
+     * Validate a JWT by signature and expiry alone, without touching the session store or database.
      */
-    public boolean logout(String sessionId) {
-        log.info("Logout for session: {}", sessionId);
-        // In production, remove session from store
+    public boolean validateToken(String token) {
+        return jwtTokenProvider.verify(token).isPresent();
+    }
+    
+    /**
+     * Logout user: invalidate the session and revoke the bearer token, whichever were given.
+     * Returns false if neither was valid.
+     */
+    public boolean logout(String sessionId, String token) {
+        log.info(LogSamplingFilter.SAMPLED, "Logout for session: {}", sessionId);
+        Optional<Session> session = sessionStore.find(sessionId);
+        boolean sessionEnded = sessionId != null && sessionStore.invalidate(sessionId);
+        Optional<TokenPrincipal> principal = jwtTokenProvider.verify(token);
+        boolean tokenRevoked = principal.isPresent() && jwtTokenProvider.revoke(token);
+        if (!sessionEnded && !tokenRevoked) {
+            return false;
+        }
+        if (sessionEnded && session.isPresent()) {
+            loginAuditLog.record(LoginEventType.LOGOUT, session.get().getUserId(), session.get().getEmail(), null);
+        } else {
+            principal.ifPresent(p -> loginAuditLog.record(LoginEventType.LOGOUT, p.getUserId(), p.getEmail(), null));
+        }
         return true;
     }
 }
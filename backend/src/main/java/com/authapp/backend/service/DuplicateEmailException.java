@@ -0,0 +1,18 @@
+package com.authapp.backend.service;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a user cannot be created because another user already has the email, ignoring case.
+ * Callers should answer with 409 Conflict.
+ */
+@Getter
+public class DuplicateEmailException extends RuntimeException {
+
+    private final String email;
+
+    public DuplicateEmailException(String email) {
+        super("User with email " + email + " already exists");
+        this.email = email;
+    }
+}
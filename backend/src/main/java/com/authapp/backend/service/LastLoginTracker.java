@@ -0,0 +1,154 @@
+package com.authapp.backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for users' last login times.
+ * Logins only record the time in memory, where repeated logins by one user coalesce into the latest;
+ * the buffer is written in one JDBC batch, in one transaction, every {@code flush-ms} or as soon as
+ * {@code max-pending} users are waiting, and once more on shutdown. A size-triggered flush runs on
+ * its own thread so no login ever waits for the database. The update never moves a time backwards,
+ * and a failed flush puts its entries back for the next attempt. Times still buffered when the
+ * process dies are lost, which only makes a last login look older than it was.
+ * Written users are deliberately not evicted from the user caches: that would drop every active user
+ * from them once per flush, and nothing reads the last login time from a cached user.
+ */
+@Component
+@Slf4j
+public class LastLoginTracker {
+
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPending;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong written = new AtomicLong();
+    // A lock rather than synchronized: a virtual thread blocked in JDBC inside a monitor pins its carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "last-login-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LastLoginTracker(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.last-login.max-pending:1000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPending = Math.max(1, maxPending);
+        Gauge.builder("last.login.pending", pending, Map::size)
+                .description("Users whose last login time is buffered but not yet written")
+                .register(meterRegistry);
+        FunctionCounter.builder("last.login.written", written, AtomicLong::get)
+                .description("Last login times written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffer a successful login; returns without touching the database.
+     *
+     * @param userId the user ID
+     * @param at the login time
+     */
+    public void record(Long userId, LocalDateTime at) {
+        pending.merge(userId, at, LastLoginTracker::latest);
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush picks the entry up
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write every buffered login time.
+     *
+     * @return number of users whose time was sent to the database
+     */
+    @Scheduled(initialDelayString = "${app.last-login.flush-ms:1000}",
+               fixedDelayString = "${app.last-login.flush-ms:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushPending() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // Removing entry by entry hands each user's latest time to exactly one flush;
+        // a login recorded after its removal is simply buffered for the next one
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime at = pending.remove(userId);
+            if (at != null) {
+                Timestamp timestamp = Timestamp.valueOf(at);
+                batch.add(new Object[]{timestamp, userId, timestamp});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch));
+            written.addAndGet(batch.size());
+            log.debug("Wrote last login times for {} users", batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write last login times for {} users, will retry: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                pending.merge((Long) row[1], ((Timestamp) row[0]).toLocalDateTime(), LastLoginTracker::latest);
+            }
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        int flushed = flush();
+        log.info("Flushed {} buffered last login times on shutdown", flushed);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
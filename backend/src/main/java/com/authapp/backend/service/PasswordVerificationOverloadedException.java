@@ -0,0 +1,18 @@
+package com.authapp.backend.service;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot take more work.
+ * Callers should answer with 503 and a Retry-After hint rather than queue the request.
+ */
+@Getter
+public class PasswordVerificationOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordVerificationOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
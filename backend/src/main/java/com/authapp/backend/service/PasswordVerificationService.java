@@ -0,0 +1,161 @@
+package com.authapp.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated, core-sized executor.
+ * Keeps CPU-heavy BCrypt work off the request threads so a login storm cannot starve
+ * other endpoints. The queue is bounded: when it is full, callers fail fast with
+ * {@link PasswordVerificationOverloadedException} instead of piling up.
+ */
+@Service
+@Slf4j
+public class PasswordVerificationService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordVerificationService(PasswordEncoder passwordEncoder,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.password.executor.threads:0}") int threads,
+                                       @Value("${app.password.executor.queue-capacity:64}") int queueCapacity,
+                                       @Value("${app.password.executor.timeout-ms:5000}") long timeoutMillis,
+                                       @Value("${app.password.executor.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.wait")
+                .description("Time password hashing tasks spend queued")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.verify")
+                .description("Time spent hashing or verifying a password")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Password hashing tasks rejected because the executor was saturated")
+                .register(meterRegistry);
+
+        log.info("Password hashing executor started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Verify a raw password against a stored hash.
+     *
+     * @param rawPassword the password supplied by the user
+     * @param encodedPassword the stored hash
+     * @return true if the password matches
+     * @throws PasswordVerificationOverloadedException if the executor is saturated
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a raw password.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password
+     * @throws PasswordVerificationOverloadedException if the executor is saturated
+     */
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check whether a stored hash should be re-encoded with the current algorithm and cost.
+     * Only parses the hash, so it is cheap enough to call on the request thread.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the hash is outdated
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return verifyTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw overloaded("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw overloaded("Password hashing timed out after " + timeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordVerificationOverloadedException overloaded(String message) {
+        log.warn("{} ({} queued, {} active)", message, executor.getQueue().size(), executor.getActiveCount());
+        return new PasswordVerificationOverloadedException(message, retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.authapp.backend.service;
+
+/**
+ * Published by user writers whenever a user row is inserted, updated or deleted.
+ * Listeners that maintain derived views should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}, so they only see writes that
+ * committed and still see writes made outside a transaction.
+ *
+ * @param id the user ID
+ * @param email the user's email after the write, or null if the user was deleted
+ */
+public record UserChangedEvent(Long id, String email) {
+
+    public static UserChangedEvent saved(Long id, String email) {
+        return new UserChangedEvent(id, email);
+    }
+
+    public static UserChangedEvent deleted(Long id) {
+        return new UserChangedEvent(id, null);
+    }
+
+    public boolean isDeleted() {
+        return email == null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.repository.UserSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last user on a page, encoded as an opaque URL-safe continuation token.
+ * The token carries the ordering it was issued for, so it cannot be replayed against another one.
+ */
+record UserCursor(UserSort sort, long id, LocalDateTime createdAt) {
+
+    private static final String SEPARATOR = "|";
+
+    static UserCursor after(UserSort sort, UserSummary user) {
+        return new UserCursor(sort, user.id(), user.createdAt());
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + (createdAt != null ? createdAt : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token issued by {@link #encode()}.
+     *
+     * @param token the continuation token
+     * @param expectedSort the ordering of the current request
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is malformed or belongs to another ordering
+     */
+    static UserCursor decode(String token, UserSort expectedSort) {
+        UserCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createdAt = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            cursor = new UserCursor(UserSort.valueOf(parts[0]), Long.parseLong(parts[1]), createdAt);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (cursor.sort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort());
+        }
+        if ((expectedSort == UserSort.CREATED_AT_ASC || expectedSort == UserSort.CREATED_AT_DESC)
+                && cursor.createdAt() == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return cursor;
+    }
+}
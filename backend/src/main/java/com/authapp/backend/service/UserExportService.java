@@ -0,0 +1,134 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.dto.UserResponseDto;
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams every user to an output stream as NDJSON or CSV for audit dumps.
+ * Rows are read through a repository stream and written as they arrive; the persistence context is
+ * cleared every {@code app.user-export.clear-interval} rows, so heap use stays flat however many
+ * users exist.
+ */
+@Service
+@Slf4j
+public class UserExportService {
+
+    static final String CSV_HEADER =
+            "id,email,roles,enabled,accountNonExpired,accountNonLocked,credentialsNonExpired,createdAt,updatedAt";
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+    private final ObjectMapper objectMapper;
+    private final int clearInterval;
+
+    public UserExportService(UserRepository userRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.user-export.clear-interval:500}") int clearInterval) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(UserResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.clearInterval = Math.max(1, clearInterval);
+    }
+
+    /**
+     * Write every user to the output stream.
+     * The stream is flushed but not closed.
+     *
+     * @param format the output format
+     * @param out the destination
+     * @return number of users written
+     * @throws IOException if writing fails, e.g. because the client disconnected
+     */
+    @Transactional(readOnly = true)
+    public long export(UserFileFormat format, OutputStream out) throws IOException {
+        log.info("Starting {} user export", format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == UserFileFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAllForExport()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                if (format == UserFileFormat.NDJSON) {
+                    rowWriter.writeValue(json, UserResponseDto.from(user));
+                    json.writeRaw('\n');
+                } else {
+                    writeCsvRow(writer, user);
+                }
+                if (++count % clearInterval == 0) {
+                    // Streamed entities stay managed until cleared; drop them so they can be collected
+                    entityManager.clear();
+                }
+            }
+        }
+        json.flush();
+        writer.flush();
+        log.info("Finished {} user export: {} users written", format, count);
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, User user) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writer.write(',');
+        writer.write(csvField(user.getEmail()));
+        writer.write(',');
+        writer.write(user.getRoles().stream().map(Role::name).sorted().collect(Collectors.joining(";")));
+        writer.write(',');
+        writer.write(String.valueOf(user.getEnabled()));
+        writer.write(',');
+        writer.write(String.valueOf(user.getAccountNonExpired()));
+        writer.write(',');
+        writer.write(String.valueOf(user.getAccountNonLocked()));
+        writer.write(',');
+        writer.write(String.valueOf(user.getCredentialsNonExpired()));
+        writer.write(',');
+        writer.write(String.valueOf(user.getCreatedAt()));
+        writer.write(',');
+        writer.write(String.valueOf(user.getUpdatedAt()));
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV field if it contains a separator, quote or line break (RFC 4180).
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
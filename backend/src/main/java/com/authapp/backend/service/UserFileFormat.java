@@ -0,0 +1,61 @@
+package com.authapp.backend.service;
+
+import java.util.Locale;
+
+/**
+ * File formats supported by the user export and import.
+ */
+public enum UserFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    UserFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolve a format from a request parameter.
+     *
+     * @param value "ndjson" or "csv", case insensitive
+     * @return the matching format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static UserFileFormat of(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "ndjson", "jsonl" -> NDJSON;
+            case "csv" -> CSV;
+            default -> throw new IllegalArgumentException("Unsupported file format: " + value);
+        };
+    }
+
+    /**
+     * Resolve a format from a Content-Type header.
+     *
+     * @param contentType the header value, may be null
+     * @return the matching format
+     * @throws IllegalArgumentException if the content type is missing or not supported
+     */
+    public static UserFileFormat ofContentType(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("ndjson") || type.contains("jsonl")) {
+            return NDJSON;
+        }
+        if (type.contains("csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType
+                + " (send application/x-ndjson or text/csv, or pass ?format=)");
+    }
+}
@@ -0,0 +1,429 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.cache.UserCounters;
+import com.authapp.backend.dto.CreateUserDto;
+import com.authapp.backend.dto.UserImportResultDto;
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.RoleMaskConverter;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.security.LegacyPasswordMatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk-imports users from NDJSON or CSV uploads.
+ * The upload is read line by line and written in chunks: each chunk is checked against the
+ * database for existing emails in one set-based query, takes its IDs from the pooled user
+ * sequence a block at a time, and is inserted with one JDBC batch in one short transaction.
+ * Emails are also deduplicated across the whole upload in memory; both checks ignore case.
+ * Committed rows are reported to the user counters and as {@link UserChangedEvent}s, and drop the
+ * cached query results that Hibernate cannot know they invalidate.
+ * Passwords that are already BCrypt hashes are stored as-is; anything else is treated as
+ * plaintext and hashed before the insert, so no cleartext credential is ever written. Hashing
+ * runs only for the rows that survive the existence check, spread over the common pool.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    static final int MAX_REPORTED_ERRORS = 20;
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, email_normalized, password, role_mask, enabled, account_non_expired,
+                               account_non_locked, credentials_non_expired, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, ?, ?)""";
+
+    private static final String EXISTING_EMAILS = "SELECT email_normalized FROM users WHERE email_normalized = ANY(?)";
+
+    private static final String NEXT_ID_BLOCKS =
+            "SELECT NEXT VALUE FOR " + User.ID_SEQUENCE + " FROM SYSTEM_RANGE(1, ?)";
+
+    private static final int JDBC_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final UserCounters userCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int chunkSize;
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             UserCounters userCounters,
+                             ApplicationEventPublisher eventPublisher,
+                             EntityManagerFactory entityManagerFactory,
+                             @Value("${app.user-import.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rowReader = objectMapper.readerFor(ImportRow.class);
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.userCounters = userCounters;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Import every row of the upload.
+     * Chunks commit independently, so a failure part-way leaves earlier chunks imported.
+     *
+     * @param format the upload format
+     * @param in the upload
+     * @return counts of imported, duplicate, existing and rejected rows
+     * @throws IOException if the upload cannot be read
+     * @throws IllegalArgumentException if a CSV upload has no email or password column
+     */
+    public UserImportResultDto importUsers(UserFileFormat format, InputStream in) throws IOException {
+        long started = System.nanoTime();
+        UserImportResultDto result = new UserImportResultDto();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        CsvColumns columns = format == UserFileFormat.CSV ? CsvColumns.of(reader.readLine()) : null;
+        long lineNumber = columns != null ? 1 : 0;
+
+        Set<String> seen = new HashSet<>();
+        List<PendingUser> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+            PendingUser user;
+            try {
+                user = validated(columns != null ? columns.parse(line) : parseJson(line));
+            } catch (IllegalArgumentException e) {
+                reject(result, lineNumber, e.getMessage());
+                continue;
+            }
+            if (!seen.add(user.emailNormalized())) {
+                result.setDuplicates(result.getDuplicates() + 1);
+                continue;
+            }
+            chunk.add(user);
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, result);
+        }
+
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} of {} users in {} ms ({} duplicates, {} existing, {} invalid, {} failed)",
+                result.getImported(), result.getReceived(), result.getElapsedMillis(),
+                result.getDuplicates(), result.getExisting(), result.getInvalid(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Insert a chunk of users whose emails are unique within the upload.
+     * If a registration commits one of the emails between the existence check and the insert,
+     * the chunk is checked again and retried once without the emails now taken; should that fail
+     * too, its rows are inserted one by one so a single bad row cannot take the others down with it.
+     */
+    private void writeChunk(List<PendingUser> chunk, UserImportResultDto result) {
+        List<PendingUser> fresh = withoutExisting(chunk, result).parallelStream()
+                .map(this::hashed)
+                .toList();
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        int imported;
+        try {
+            imported = insert(fresh);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import chunk of {} users rolled back, retrying without taken emails: {}",
+                    fresh.size(), e.getMostSpecificCause().getMessage());
+            List<PendingUser> retry = withoutExisting(fresh, result);
+            try {
+                imported = insert(retry);
+            } catch (DataIntegrityViolationException again) {
+                log.warn("Import chunk of {} users rolled back again, inserting row by row", retry.size());
+                imported = insertEach(retry, result);
+            }
+        }
+        if (imported > 0) {
+            // Inserts only add rows, and neither user cache remembers a miss, so cached users stay valid;
+            // cached counts do not
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        }
+        result.setImported(result.getImported() + imported);
+    }
+
+    /**
+     * The users whose emails are not registered yet, counting the others as existing.
+     */
+    private List<PendingUser> withoutExisting(List<PendingUser> users, UserImportResultDto result) {
+        String[] emails = users.stream().map(PendingUser::emailNormalized).toArray(String[]::new);
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(EXISTING_EMAILS, String.class, (Object) emails));
+        if (existing.isEmpty()) {
+            return users;
+        }
+        result.setExisting(result.getExisting() + existing.size());
+        return users.stream().filter(user -> !existing.contains(user.emailNormalized())).toList();
+    }
+
+    /**
+     * Insert users one transaction each, counting the rows the database refuses as failed.
+     */
+    private int insertEach(List<PendingUser> users, UserImportResultDto result) {
+        int imported = 0;
+        for (PendingUser user : users) {
+            try {
+                imported += insert(List.of(user));
+            } catch (DataIntegrityViolationException e) {
+                result.setFailed(result.getFailed() + 1);
+                addError(result, user.email() + ": " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * Insert users with one JDBC batch in one transaction.
+     *
+     * @return number of users inserted
+     */
+    private int insert(List<PendingUser> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        long[] ids = allocateIds(users.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userCounters.usersCreated(users.stream().map(PendingUser::roles).toList());
+            int[] index = {0};
+            jdbcTemplate.batchUpdate(INSERT_USER, users, JDBC_BATCH_SIZE, (ps, user) -> {
+                ps.setLong(1, ids[index[0]++]);
+                ps.setString(2, user.email());
+                ps.setString(3, user.emailNormalized());
+                ps.setString(4, user.password());
+                ps.setInt(5, RoleMaskConverter.toMask(user.roles()));
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            });
+            for (int i = 0; i < ids.length; i++) {
+                eventPublisher.publishEvent(UserChangedEvent.saved(ids[i], users.get(i).email()));
+            }
+        });
+        return users.size();
+    }
+
+    /**
+     * The row with its plaintext password replaced by an encoded hash.
+     */
+    private PendingUser hashed(PendingUser user) {
+        if (!user.plaintext()) {
+            return user;
+        }
+        return new PendingUser(user.email(), user.emailNormalized(), passwordEncoder.encode(user.password()),
+                user.roles(), false);
+    }
+
+    /**
+     * Reserve IDs from the pooled sequence; each sequence value covers the block below it.
+     * As in Hibernate's pooled optimizer, the sequence's initial value is the exception: it
+     * covers itself and everything up to the next value, which is fetched to cap the block.
+     * Without that, the first import on a fresh database would take IDs up to and including 1
+     * while Hibernate, having seen 1 first, goes on to hand out 2 to 51.
+     */
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        int i = 0;
+        while (i < count) {
+            int blocks = (count - i + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+            for (long high : jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks)) {
+                long low = high - User.ID_ALLOCATION_SIZE + 1;
+                if (high == User.ID_INITIAL_VALUE) {
+                    low = high;
+                    high = jdbcTemplate.queryForObject(NEXT_ID_BLOCKS, Long.class, 1);
+                }
+                for (long id = low; id <= high && i < count; id++) {
+                    ids[i++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Check a row against the same Bean Validation constraints as {@code POST /test/users}.
+     *
+     * @throws IllegalArgumentException listing the violated constraints
+     */
+    private PendingUser validated(CreateUserDto row) {
+        Set<ConstraintViolation<CreateUserDto>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return PendingUser.of(row);
+    }
+
+    private CreateUserDto parseJson(String line) {
+        ImportRow row;
+        try {
+            row = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        return toRow(row.email(), row.password(), row.roles());
+    }
+
+    /**
+     * A row as registration would receive it; with no roles given it gets {@code ROLE_USER}.
+     *
+     * @throws IllegalArgumentException if a role is unknown
+     */
+    private static CreateUserDto toRow(String email, String password, List<String> roleNames) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        if (roleNames != null) {
+            for (String name : roleNames) {
+                roles.add(parseRole(name.trim()));
+            }
+        }
+        if (roles.isEmpty()) {
+            roles.add(Role.ROLE_USER);
+        }
+        return new CreateUserDto(email, password, roles);
+    }
+
+    private static Role parseRole(String name) {
+        String upper = name.toUpperCase(Locale.ROOT);
+        try {
+            return Role.valueOf(upper.startsWith("ROLE_") ? upper : "ROLE_" + upper);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role: " + name);
+        }
+    }
+
+    private static void reject(UserImportResultDto result, long lineNumber, String message) {
+        result.setInvalid(result.getInvalid() + 1);
+        addError(result, "line " + lineNumber + ": " + message);
+    }
+
+    private static void addError(UserImportResultDto result, String message) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(message);
+        }
+    }
+
+    /**
+     * Parse one CSV line into fields, honoring RFC 4180 quoting.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * One NDJSON row; properties such as those of an export are ignored.
+     */
+    private record ImportRow(String email, String password, List<String> roles) {
+    }
+
+    /**
+     * Positions of the known columns in a CSV header.
+     */
+    private record CsvColumns(int email, int password, int roles) {
+
+        static CsvColumns of(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV upload is empty");
+            }
+            List<String> names = parseCsvLine(header).stream()
+                    .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            if (!names.contains("email") || !names.contains("password")) {
+                throw new IllegalArgumentException("CSV header must contain email and password columns");
+            }
+            return new CsvColumns(names.indexOf("email"), names.indexOf("password"), names.indexOf("roles"));
+        }
+
+        CreateUserDto parse(String line) {
+            List<String> fields = parseCsvLine(line);
+            String rolesField = roles >= 0 && roles < fields.size() ? fields.get(roles) : "";
+            return toRow(field(fields, email), field(fields, password),
+                    rolesField.isBlank() ? List.of() : List.of(rolesField.split(";")));
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+    }
+
+    /**
+     * A validated row waiting to be inserted.
+     */
+    private record PendingUser(String email, String emailNormalized, String password, Set<Role> roles,
+                               boolean plaintext) {
+
+        static PendingUser of(CreateUserDto row) {
+            return new PendingUser(row.getEmail(), User.normalizeEmail(row.getEmail()), row.getPassword(),
+                    row.getRoles(), !LegacyPasswordMatcher.isEncoded(row.getPassword()));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.repository.UserSummary;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One keyset page of users.
+ */
+@Value
+public class UserPage {
+
+    List<UserSummary> users;
+
+    /**
+     * Opaque token for the following page, or null on the last page.
+     */
+    String nextCursor;
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.repository.UserSummary;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of ranked email search results.
+ */
+@Value
+public class UserSearchPage {
+
+    List<UserSummary> users;
+
+    /**
+     * Zero-based page number.
+     */
+    int page;
+
+    int size;
+
+    /**
+     * Number of matching users across all pages.
+     */
+    long total;
+
+    public boolean hasMore() {
+        return (long) (page + 1) * size < total;
+    }
+}
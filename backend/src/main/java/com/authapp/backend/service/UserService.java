@@ -1,19 +1,40 @@
 package com.authapp.backend.service;
 
+import com.authapp.backend.cache.UserCache;
+import com.authapp.backend.cache.UserCounters;
 import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.RoleMaskConverter;
 import com.authapp.backend.entity.User;
 import com.authapp.backend.repository.UserRepository;
+import com.authapp.backend.repository.UserSummary;
+import com.authapp.backend.search.EmailTrigramIndex;
+import com.authapp.backend.search.UserEmailSearch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for User entity operations.
  * Handles business logic for user management.
+ * Single-user lookups are served from the {@link UserCache}; every write evicts the affected user.
+ * User counts are served from {@link UserCounters}, which every write updates once it commits.
+ * Every write also publishes a {@link UserChangedEvent} for derived views such as email search.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,48 +42,88 @@ import java.util.Optional;
 @Transactional
 public class UserService {
 
+    /** Page size used when a listing request does not ask for one. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Largest page a listing request may ask for. */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserCounters userCounters;
+    private final UserEmailSearch userEmailSearch;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new user.
+     * The insert is flushed immediately and the email's unique index decides duplicates, so
+     * there is no separate existence check and no window for a concurrent registration.
      *
      * @param user the user to create
      * @return the saved user
+     * @throws DuplicateEmailException if another user already has the email, ignoring case
      */
     public User createUser(User user) {
         log.info("Creating new user with email: {}", user.getEmail());
         
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("User with email " + user.getEmail() + " already exists");
+        userCounters.userCreated(user.getRoles());
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, User.EMAIL_NORMALIZED_KEY)) {
+                throw e;
+            }
+            log.debug("Insert rejected for email {}: {}", user.getEmail(), e.getMostSpecificCause().getMessage());
+            throw new DuplicateEmailException(user.getEmail());
         }
-        
-        User savedUser = userRepository.save(user);
+        userCache.evict(savedUser.getId(), savedUser.getEmail());
+        eventPublisher.publishEvent(UserChangedEvent.saved(savedUser.getId(), savedUser.getEmail()));
         log.info("User created successfully with ID: {}", savedUser.getId());
         return savedUser;
     }
 
+    /**
+     * Check whether a write was rejected by the named constraint.
+     * Dialects report the name with schema, quoting or index suffixes, so it is matched by containment.
+     */
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String violated = violation.getConstraintName();
+                return violated != null
+                        && violated.toLowerCase(Locale.ROOT).contains(constraintName.toLowerCase(Locale.ROOT));
+            }
+        }
+        return false;
+    }
+
     /**
      * Find user by email.
+     * Runs outside any transaction: concurrent misses wait on the cache's single-flight load, and a
+     * waiter must not hold a pooled connection while it does. Only the load itself, in the
+     * repository's own read-only transaction, takes a connection.
      *
      * @param email the email to search for
      * @return Optional containing the user if found
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> findByEmail(String email) {
         log.debug("Finding user by email: {}", email);
-        return userRepository.findByEmail(email);
+        return userCache.findByEmail(email, () -> userRepository.findByEmail(email));
     }
 
     /**
      * Find user by ID.
+     * Runs outside any transaction for the same reason as {@link #findByEmail}.
      *
      * @param id the user ID
      * @return Optional containing the user if found
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> findById(Long id) {
         log.debug("Finding user by ID: {}", id);
-        return userRepository.findById(id);
+        return userCache.findById(id, () -> userRepository.findById(id));
     }
 
     /**
@@ -76,20 +137,64 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Get one keyset page of users.
+     * Each page seeks past the last row of the previous one through an index, so latency stays
+     * flat however deep the caller pages, unlike OFFSET which scans every skipped row.
+     * Rows are read as {@link UserSummary} projections, never as managed entities.
+     *
+     * @param sort the ordering
+     * @param cursor continuation token from the previous page, or null for the first page
+     * @param size requested page size, clamped to 1..{@link #MAX_PAGE_SIZE}
+     * @return the page and the token for the next one
+     * @throws IllegalArgumentException if the cursor is invalid or was issued for another ordering
+     */
+    @Transactional(readOnly = true)
+    public UserPage findUsersPage(UserSort sort, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        UserCursor after = cursor == null || cursor.isBlank() ? null : UserCursor.decode(cursor, sort);
+        log.debug("Retrieving users page: sort={}, size={}, after={}", sort, limit, after);
+
+        // Fetch one extra row to learn whether another page follows without a COUNT query
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+        List<UserSummary> rows = switch (sort) {
+            case ID_ASC -> userRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after.id() : 0L, pageable);
+            case ID_DESC -> userRepository.findByIdLessThanOrderByIdDesc(
+                    after != null ? after.id() : Long.MAX_VALUE, pageable);
+            case CREATED_AT_ASC -> after != null
+                    ? userRepository.findPageCreatedAfter(after.createdAt(), after.id(), pageable)
+                    : userRepository.findAllByOrderByCreatedAtAscIdAsc(pageable);
+            case CREATED_AT_DESC -> after != null
+                    ? userRepository.findPageCreatedBefore(after.createdAt(), after.id(), pageable)
+                    : userRepository.findAllByOrderByCreatedAtDescIdDesc(pageable);
+        };
+
+        if (rows.size() <= limit) {
+            return new UserPage(rows, null);
+        }
+        List<UserSummary> page = rows.subList(0, limit);
+        return new UserPage(page, UserCursor.after(sort, page.get(limit - 1)).encode());
+    }
+
     /**
      * Find users by role.
+     * Only the listed columns are selected, and no entities are loaded.
      *
      * @param role the role to search for
-     * @return list of users with the specified role
+     * @return summaries of the users with the specified role
      */
     @Transactional(readOnly = true)
-    public List<User> findByRole(Role role) {
+    public List<UserSummary> findByRole(Role role) {
         log.debug("Finding users by role: {}", role);
-        return userRepository.findByRole(role);
+        return userRepository.findSummariesByRole(role);
     }
 
     /**
      * Update user.
+     * Every column is written from the given user, so it must not be a copy returned by
+     * {@link #findById} or {@link #findByEmail}, which may come from the cache and be stale.
+     * To change only a password use {@link #updatePassword}.
      *
      * @param user the user to update
      * @return the updated user
@@ -97,28 +202,61 @@ public class UserService {
     public User updateUser(User user) {
         log.info("Updating user with ID: {}", user.getId());
         
-        if (!userRepository.existsById(user.getId())) {
-            throw new RuntimeException("User with ID " + user.getId() + " not found");
-        }
+        Set<Role> storedRoles = userRepository.findRoleMaskById(user.getId())
+                .map(RoleMaskConverter::fromMask)
+                .orElseThrow(() -> new RuntimeException("User with ID " + user.getId() + " not found"));
         
+        userCounters.rolesChanged(storedRoles, user.getRoles());
         User updatedUser = userRepository.save(user);
+        userCache.evict(updatedUser.getId(), updatedUser.getEmail());
+        eventPublisher.publishEvent(UserChangedEvent.saved(updatedUser.getId(), updatedUser.getEmail()));
         log.info("User updated successfully with ID: {}", updatedUser.getId());
         return updatedUser;
     }
 
+    /**
+     * Replace a user's password, leaving every other column as it is in the database.
+     * The managed entity is loaded and only its password changed, so a concurrent change to the
+     * user's roles or enabled flag is never overwritten. The password is only replaced if it is
+     * still the one the caller verified against.
+     *
+     * @param id the user ID
+     * @param expectedPassword the stored password the caller verified against
+     * @param newPassword the new, already encoded password
+     * @return true if the password was replaced, false if it had changed in the meantime
+     */
+    public boolean updatePassword(Long id, String expectedPassword, String newPassword) {
+        log.info("Updating password for user with ID: {}", id);
+        
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User with ID " + id + " not found"));
+        if (!Objects.equals(user.getPassword(), expectedPassword)) {
+            log.info("Password for user with ID {} changed concurrently, not updated", id);
+            return false;
+        }
+        
+        user.setPassword(newPassword);
+        userCache.evict(id, user.getEmail());
+        eventPublisher.publishEvent(UserChangedEvent.saved(id, user.getEmail()));
+        return true;
+    }
+
     /**
      * Delete user by ID.
+     * One statement both deletes the row and returns its roles for the counters.
      *
      * @param id the user ID to delete
      */
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User with ID " + id + " not found");
-        }
+        Set<Role> storedRoles = userRepository.deleteReturningRoleMask(id)
+                .map(RoleMaskConverter::fromMask)
+                .orElseThrow(() -> new RuntimeException("User with ID " + id + " not found"));
         
-        userRepository.deleteById(id);
+        userCounters.userDeleted(storedRoles);
+        userCache.evict(id, null);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -130,39 +268,59 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return userCache.containsEmail(email) || userRepository.existsByEmail(email);
     }
 
     /**
-     * Get total user count.
+     * Get total user count from the in-memory counters, without a query.
      *
      * @return total number of users
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getTotalUserCount() {
-        return userRepository.countTotalUsers();
+        return userCounters.total();
     }
 
     /**
-     * Get user count by role.
+     * Get user count by role from the in-memory counters, without a query.
      *
      * @param role the role to count
      * @return number of users with the specified role
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getUserCountByRole(Role role) {
-        return userRepository.countByRole(role);
+        return userCounters.count(role);
     }
 
     /**
-     * Search users by email containing term.
+     * Search users by email containing term, ignoring case.
+     * Matches come from the in-memory trigram index, ranked prefix matches first, then matches at
+     * the start of a word, then the rest; only the users on the requested page are loaded.
      *
      * @param searchTerm the search term
-     * @return list of users matching the search
+     * @param page zero-based page number
+     * @param size requested page size, clamped to 1..{@link #MAX_PAGE_SIZE}
+     * @return the page of matching users and the total number of matches
+     * @throws IllegalArgumentException if the term is blank or the page is negative or out of range
      */
     @Transactional(readOnly = true)
-    public List<User> searchUsersByEmail(String searchTerm) {
-        log.debug("Searching users by email containing: {}", searchTerm);
-        return userRepository.findByEmailContainingIgnoreCase(searchTerm);
+    public UserSearchPage searchUsersByEmail(String searchTerm, int page, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new IllegalArgumentException("Search term must not be blank");
+        }
+        if (page < 0 || (long) page * limit > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid page: " + page);
+        }
+        log.debug("Searching users by email containing: {} (page {}, size {})", searchTerm, page, limit);
+
+        EmailTrigramIndex.Page hits = userEmailSearch.search(searchTerm, page * limit, limit);
+        Map<Long, UserSummary> usersById = userRepository.findSummariesByIdIn(hits.userIds()).stream()
+                .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+        List<UserSummary> ranked = hits.userIds().stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new UserSearchPage(ranked, page, limit, hits.total());
     }
 }
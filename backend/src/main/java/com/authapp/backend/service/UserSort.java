@@ -0,0 +1,35 @@
+package com.authapp.backend.service;
+
+import java.util.Locale;
+
+/**
+ * Stable orderings supported by the paginated user listing.
+ * Every ordering ends in the unique ID, so keyset pages never skip or repeat a user.
+ */
+public enum UserSort {
+    ID_ASC,
+    ID_DESC,
+    CREATED_AT_ASC,
+    CREATED_AT_DESC;
+
+    /**
+     * Resolve an ordering from request parameters.
+     *
+     * @param field "id" or "createdAt"
+     * @param direction "asc" or "desc"
+     * @return the matching ordering
+     * @throws IllegalArgumentException if the field or direction is not supported
+     */
+    public static UserSort of(String field, String direction) {
+        boolean descending = switch (direction.toLowerCase(Locale.ROOT)) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new IllegalArgumentException("Unsupported sort direction: " + direction);
+        };
+        return switch (field) {
+            case "id" -> descending ? ID_DESC : ID_ASC;
+            case "createdAt" -> descending ? CREATED_AT_DESC : CREATED_AT_ASC;
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+}
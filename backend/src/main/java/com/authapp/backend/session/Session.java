@@ -0,0 +1,34 @@
+package com.authapp.backend.session;
+
+import lombok.Getter;
+
+/**
+ * A live login session held by the {@link SessionStore}.
+ * Doubles as the node of the intrusive bucket lists in {@link TimingWheel},
+ * so scheduling and cancelling expiry never allocates.
+ */
+@Getter
+public final class Session {
+
+    private final String id;
+    private final Long userId;
+    private final String email;
+    private final long expiresAt;
+
+    // Timing wheel links, guarded by the owning shard's lock
+    Session prev;
+    Session next;
+    TimingWheel.Bucket bucket;
+    long expiryTick;
+
+    Session(String id, Long userId, String email, long expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.email = email;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
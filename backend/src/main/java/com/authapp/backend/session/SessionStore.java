@@ -0,0 +1,182 @@
+package com.authapp.backend.session;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory registry of live login sessions.
+ * Sessions are spread over lock-striped shards: lookups read the shard map without locking,
+ * while writes and expiry take only the owning shard's lock. Each shard expires its sessions
+ * through its own {@link TimingWheel}, so no sweep ever scans the whole registry.
+ */
+@Component
+@Slf4j
+public class SessionStore {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    @Autowired
+    public SessionStore(@Value("${app.session.expiration:86400000}") long ttlMillis,
+                        @Value("${app.session.shards:64}") int shardCount,
+                        @Value("${app.session.tick-ms:1000}") long tickMillis) {
+        this(ttlMillis, shardCount, tickMillis, Clock.systemUTC());
+    }
+
+    public SessionStore(long ttlMillis, int shardCount, long tickMillis, Clock clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        int size = Integer.highestOneBit(Math.max(shardCount - 1, 1)) << 1;
+        this.shards = new Shard[size];
+        this.shardMask = size - 1;
+        long now = clock.millis();
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(new TimingWheel(tickMillis, WHEEL_BITS, WHEEL_LEVELS, now));
+        }
+        log.info("Session store initialized with {} shards, ttl {} ms", size, ttlMillis);
+    }
+
+    /**
+     * Open a new session for the given user.
+     *
+     * @param userId the authenticated user's ID
+     * @param email the authenticated user's email
+     * @return the registered session
+     */
+    public Session create(Long userId, String email) {
+        Session session = new Session(UUID.randomUUID().toString(), userId, email, clock.millis() + ttlMillis);
+        Shard shard = shardFor(session.getId());
+        shard.lock.lock();
+        try {
+            shard.sessions.put(session.getId(), session);
+            shard.wheel.schedule(session);
+        } finally {
+            shard.lock.unlock();
+        }
+        return session;
+    }
+
+    /**
+     * Check whether a session exists and has not expired.
+     * Lock- and allocation-free.
+     *
+     * @param sessionId the session ID
+     * @return true if the session is live
+     */
+    public boolean isValid(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        Session session = shardFor(sessionId).sessions.get(sessionId);
+        return session != null && !session.isExpired(clock.millis());
+    }
+
+    /**
+     * Find a live session.
+     *
+     * @param sessionId the session ID
+     * @return Optional containing the session if it is live
+     */
+    public Optional<Session> find(String sessionId) {
+        if (sessionId == null) {
+            return Optional.empty();
+        }
+        Session session = shardFor(sessionId).sessions.get(sessionId);
+        if (session == null || session.isExpired(clock.millis())) {
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    /**
+     * Remove a session.
+     *
+     * @param sessionId the session ID
+     * @return true if a session was removed
+     */
+    public boolean invalidate(String sessionId) {
+        if (sessionId == null) {
+            return false;
+        }
+        Shard shard = shardFor(sessionId);
+        shard.lock.lock();
+        try {
+            Session session = shard.sessions.remove(sessionId);
+            if (session == null) {
+                return false;
+            }
+            shard.wheel.cancel(session);
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Advance every shard's timing wheel and drop the sessions that have expired.
+     *
+     * @return number of sessions removed
+     */
+    @Scheduled(fixedDelayString = "${app.session.tick-ms:1000}")
+    public int expire() {
+        long now = clock.millis();
+        int[] removed = new int[1];
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.wheel.advance(now, session -> {
+                    shard.sessions.remove(session.getId(), session);
+                    removed[0]++;
+                });
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (removed[0] > 0) {
+            log.debug("Expired {} sessions", removed[0]);
+        }
+        return removed[0];
+    }
+
+    /**
+     * Get the number of registered sessions, including any not yet swept.
+     *
+     * @return session count
+     */
+    public int size() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.sessions.size();
+        }
+        return total;
+    }
+
+    private Shard shardFor(String sessionId) {
+        int h = sessionId.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    private static final class Shard {
+        final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        final TimingWheel wheel;
+
+        Shard(TimingWheel wheel) {
+            this.wheel = wheel;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.authapp.backend.session;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for session expiry.
+ * Each level has {@code 2^bits} slots; a slot on level {@code n} spans {@code 2^(bits*n)} ticks.
+ * Scheduling and cancelling are O(1), and advancing only touches the slots whose time has come,
+ * cascading higher-level slots down as the lower wheel wraps.
+ * Not thread-safe: callers hold the owning shard's lock.
+ */
+final class TimingWheel {
+
+    static final class Bucket {
+        Session head;
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket[][] levels;
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMillis, int bits, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = new Bucket[levelCount][1 << bits];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedule a session to expire at its {@code expiresAt}, rounded up to the next tick.
+     */
+    void schedule(Session session) {
+        session.expiryTick = (session.getExpiresAt() + tickMillis - 1) / tickMillis;
+        place(session);
+        size++;
+    }
+
+    /**
+     * Remove a session from the wheel; a no-op if it is not scheduled.
+     */
+    void cancel(Session session) {
+        if (session.bucket == null) {
+            return;
+        }
+        unlink(session);
+        size--;
+    }
+
+    /**
+     * Advance the wheel to the given time, handing every session that is due to {@code onExpire}.
+     */
+    void advance(long nowMillis, Consumer<Session> onExpire) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            Session session = drain(levels[0][(int) (currentTick & mask)]);
+            while (session != null) {
+                Session next = session.next;
+                session.prev = null;
+                session.next = null;
+                if (session.expiryTick <= currentTick) {
+                    size--;
+                    onExpire.accept(session);
+                } else {
+                    place(session);
+                }
+                session = next;
+            }
+        }
+    }
+
+    private void cascade(int level) {
+        if (level >= levels.length) {
+            return;
+        }
+        int shift = bits * level;
+        if ((currentTick & ((1L << shift) - 1)) != 0) {
+            return;
+        }
+        // Cascade the coarser level first so its entries land in this one before we drain it
+        cascade(level + 1);
+        Session session = drain(levels[level][(int) ((currentTick >>> shift) & mask)]);
+        while (session != null) {
+            Session next = session.next;
+            session.prev = null;
+            session.next = null;
+            place(session);
+            session = next;
+        }
+    }
+
+    private void place(Session session) {
+        long delta = Math.max(session.expiryTick - currentTick, 1);
+        int level = 0;
+        while (level < levels.length - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        long tick = Math.max(session.expiryTick, currentTick + 1);
+        if (level == levels.length - 1 && delta >= (1L << (bits * levels.length))) {
+            // Beyond the wheel's horizon: park in the furthest slot and re-place when it cascades
+            tick = currentTick + (1L << (bits * levels.length)) - 1;
+        }
+        Bucket bucket = levels[level][(int) ((tick >>> (bits * level)) & mask)];
+        session.bucket = bucket;
+        session.prev = null;
+        session.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.prev = session;
+        }
+        bucket.head = session;
+    }
+
+    private void unlink(Session session) {
+        if (session.prev != null) {
+            session.prev.next = session.next;
+        } else {
+            session.bucket.head = session.next;
+        }
+        if (session.next != null) {
+            session.next.prev = session.prev;
+        }
+        session.prev = null;
+        session.next = null;
+        session.bucket = null;
+    }
+
+    private static Session drain(Bucket bucket) {
+        Session head = bucket.head;
+        bucket.head = null;
+        for (Session s = head; s != null; s = s.next) {
+            s.bucket = null;
+        }
+        return head;
+    }
+}
@@ -1,5 +1,6 @@
 package com.authapp.backend;
 
+import com.authapp.backend.cache.UserCounters;
 import com.authapp.backend.entity.Role;
 import com.authapp.backend.entity.User;
 import com.authapp.backend.repository.UserRepository;
@@ -7,26 +8,38 @@ import com.authapp.backend.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.InstanceOfAssertFactories.LIST;
 
 /**
  * Integration tests for the complete Spring Boot application.
  * Tests the full application stack with embedded server.
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
 @ActiveProfiles("test")
 @DisplayName("Spring Boot Application Integration Tests")
 class AuthBackendApplicationTest {
 
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> SUGGESTIONS =
+            new ParameterizedTypeReference<>() {};
+
     @LocalServerPort
     private int port;
 
@@ -39,6 +52,9 @@ class AuthBackendApplicationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserCounters userCounters;
+
     @Test
     @DisplayName("Should load Spring context successfully")
     void shouldLoadSpringContextSuccessfully() {
@@ -75,7 +91,7 @@ class AuthBackendApplicationTest {
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isNotNull();
+        assertThat(response.hasBody()).isTrue();
         assertThat(response.getBody().get("status")).isEqualTo("UP");
         assertThat(response.getBody().get("message")).isEqualTo("Auth Backend is running");
         assertThat(response.getBody().get("database")).isEqualTo("H2 Connected");
@@ -93,7 +109,7 @@ class AuthBackendApplicationTest {
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isNotNull();
+        assertThat(response.hasBody()).isTrue();
         assertThat(response.getBody().get("totalUsers")).isNotNull();
         assertThat(response.getBody().get("adminUsers")).isNotNull();
         assertThat(response.getBody().get("regularUsers")).isNotNull();
@@ -103,6 +119,344 @@ class AuthBackendApplicationTest {
         assertThat(totalUsers).isGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    @DisplayName("Should keep stats in step with user writes")
+    void shouldKeepStatsInStepWithWrites() {
+        // Given
+        userCounters.reconcile();
+        long total = userRepository.countTotalUsers();
+        long admins = userRepository.countByRole(Role.ROLE_ADMIN);
+
+        // When
+        User created = userService.createUser(User.createUser("counted@example.com", "password123"));
+        created.addRole(Role.ROLE_ADMIN);
+        userService.updateUser(created);
+        ResponseEntity<Map> afterCreate = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/test/stats", Map.class);
+        userService.deleteUser(created.getId());
+        ResponseEntity<Map> afterDelete = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/test/stats", Map.class);
+
+        // Then
+        assertThat(((Number) afterCreate.getBody().get("totalUsers")).longValue()).isEqualTo(total + 1);
+        assertThat(((Number) afterCreate.getBody().get("adminUsers")).longValue()).isEqualTo(admins + 1);
+        assertThat(((Number) afterDelete.getBody().get("totalUsers")).longValue()).isEqualTo(total);
+        assertThat(((Number) afterDelete.getBody().get("adminUsers")).longValue()).isEqualTo(admins);
+        assertThat(userCounters.reconcile()).isTrue();
+        assertThat(userCounters.total()).isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 for a duplicate email and leave the counters alone")
+    void shouldRejectDuplicateEmail() {
+        // Given
+        userCounters.reconcile();
+        long total = userCounters.total();
+
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/test/users",
+                Map.of("email", "Admin@AuthApp.com", "password", "password123"),
+                Map.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().get("error")).isEqualTo("User with email Admin@AuthApp.com already exists");
+        assertThat(userCounters.total()).isEqualTo(total);
+    }
+
+    @Test
+    @DisplayName("Should search users by email substring as soon as they are committed")
+    void shouldSearchUsersByEmail() {
+        // Given
+        User created = userService.createUser(User.createUser("findme.search@example.com", "password123"));
+        HttpEntity<Void> admin = new HttpEntity<>(bearer("admin@authapp.com", "admin123"));
+
+        // When
+        ResponseEntity<Map> found = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/search?q=FINDME&size=5", HttpMethod.GET, admin, Map.class);
+        userService.deleteUser(created.getId());
+        ResponseEntity<Map> gone = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/search?q=findme", HttpMethod.GET, admin, Map.class);
+        ResponseEntity<Map> blank = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/search?q=", HttpMethod.GET, admin, Map.class);
+
+        // Then
+        assertThat(found.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(found.getBody().get("total")).isEqualTo(1);
+        assertThat(found.getBody().get("items")).asInstanceOf(LIST)
+                .extracting(item -> (Object) ((Map<?, ?>) item).get("email"))
+                .containsExactly("findme.search@example.com");
+        assertThat(gone.getBody().get("total")).isEqualTo(0);
+        assertThat(blank.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should autocomplete user emails and follow later writes")
+    void shouldAutocompleteEmails() {
+        // Given
+        HttpEntity<Void> admin = new HttpEntity<>(bearer("admin@authapp.com", "admin123"));
+        User first = userService.createUser(User.createUser("Typeahead.One@example.com", "password123"));
+        ResponseEntity<List<Map<String, Object>>> before = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/autocomplete?prefix=TYPEAHEAD", HttpMethod.GET, admin,
+                SUGGESTIONS);
+
+        // When
+        User second = userService.createUser(User.createUser("typeahead.two@example.com", "password123"));
+        userService.deleteUser(first.getId());
+        ResponseEntity<List<Map<String, Object>>> after = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/autocomplete?prefix=typeahead&limit=5", HttpMethod.GET,
+                admin, SUGGESTIONS);
+        ResponseEntity<Map> blank = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/autocomplete?prefix=", HttpMethod.GET, admin, Map.class);
+        userService.deleteUser(second.getId());
+
+        // Then
+        assertThat(before.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(before.getBody())
+                .extracting(item -> item.get("email"))
+                .containsExactly("typeahead.one@example.com");
+        assertThat(after.getBody())
+                .extracting(item -> item.get("email"))
+                .containsExactly("typeahead.two@example.com");
+        assertThat(blank.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should page through users with a continuation cursor")
+    void shouldPageThroughUsers() {
+        // Given
+        HttpEntity<Void> admin = new HttpEntity<>(bearer("admin@authapp.com", "admin123"));
+
+        // When
+        ResponseEntity<Map> first = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users?size=1",
+                HttpMethod.GET, admin, Map.class
+        );
+        ResponseEntity<Map> second = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users?size=1&cursor=" + first.getBody().get("nextCursor"),
+                HttpMethod.GET, admin, Map.class
+        );
+        ResponseEntity<Map> foreignCursor = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users?size=1&direction=desc&cursor=" + first.getBody().get("nextCursor"),
+                HttpMethod.GET, admin, Map.class
+        );
+
+        // Then
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody().get("hasMore")).isEqualTo(true);
+        assertThat(first.getBody().get("items")).asInstanceOf(LIST).hasSize(1);
+        assertThat(second.getBody().get("items")).asInstanceOf(LIST).hasSize(1);
+        assertThat(firstItemId(second)).isGreaterThan(firstItemId(first));
+        assertThat(foreignCursor.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should stream a user export as NDJSON")
+    void shouldStreamUserExport() {
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "http://localhost:" + port + "/api/test/users/export?format=ndjson",
+                HttpMethod.GET, new HttpEntity<>(bearer("admin@authapp.com", "admin123")), String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        assertThat(response.getBody().lines()).hasSizeGreaterThanOrEqualTo(2)
+                .anySatisfy(line -> assertThat(line).contains("\"email\":\"admin@authapp.com\""));
+    }
+
+    @Test
+    @DisplayName("Should log in seeded admin and validate the issued session and token")
+    void shouldLoginSeededAdminAndValidate() {
+        // When
+        ResponseEntity<Map> login = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/auth/login",
+                Map.of("email", "admin@authapp.com", "password", "admin123"),
+                Map.class
+        );
+
+        // Then
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(login.getBody().get("success")).isEqualTo(true);
+        String sessionId = (String) login.getBody().get("sessionId");
+        String token = (String) login.getBody().get("token");
+
+        HttpHeaders sessionHeaders = new HttpHeaders();
+        sessionHeaders.set("X-Session-ID", sessionId);
+        ResponseEntity<Map> sessionCheck = restTemplate.exchange(
+                "http://localhost:" + port + "/api/auth/validate",
+                HttpMethod.GET, new HttpEntity<>(sessionHeaders), Map.class
+        );
+        assertThat(sessionCheck.getBody().get("valid")).isEqualTo(true);
+
+        HttpHeaders tokenHeaders = new HttpHeaders();
+        tokenHeaders.setBearerAuth(token);
+        ResponseEntity<Map> tokenCheck = restTemplate.exchange(
+                "http://localhost:" + port + "/api/auth/validate",
+                HttpMethod.GET, new HttpEntity<>(tokenHeaders), Map.class
+        );
+        assertThat(tokenCheck.getBody().get("valid")).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Should let only an admin bearer token delete users")
+    void shouldProtectAdminRoutes() {
+        // Given
+        User target = userService.createUser(User.createUser("deleteme@example.com", "password123"));
+        String url = "http://localhost:" + port + "/api/test/users/" + target.getId();
+
+        // When
+        ResponseEntity<Map> anonymous = restTemplate.exchange(url, HttpMethod.DELETE, HttpEntity.EMPTY, Map.class);
+        ResponseEntity<Map> asUser = restTemplate.exchange(url, HttpMethod.DELETE,
+                new HttpEntity<>(bearer("user@authapp.com", "user123")), Map.class);
+        ResponseEntity<Map> asAdmin = restTemplate.exchange(url, HttpMethod.DELETE,
+                new HttpEntity<>(bearer("admin@authapp.com", "admin123")), Map.class);
+
+        // Then
+        assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(asUser.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(asAdmin.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userService.existsByEmail("deleteme@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let only an admin bearer token list, search or export users")
+    void shouldProtectUserListings() {
+        // Given
+        HttpEntity<Void> user = new HttpEntity<>(bearer("user@authapp.com", "user123"));
+        List<String> listings = List.of("/test/users", "/test/users/search?q=admin",
+                "/test/users/autocomplete?prefix=admin", "/test/users/export", "/test/users/role/ROLE_ADMIN");
+
+        for (String listing : listings) {
+            // When
+            String url = "http://localhost:" + port + "/api" + listing;
+            ResponseEntity<String> anonymous = restTemplate.getForEntity(url, String.class);
+            ResponseEntity<String> asUser = restTemplate.exchange(url, HttpMethod.GET, user, String.class);
+
+            // Then
+            assertThat(anonymous.getStatusCode()).as(listing).isEqualTo(HttpStatus.UNAUTHORIZED);
+            assertThat(asUser.getStatusCode()).as(listing).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop honouring an admin bearer token after logout")
+    void shouldRevokeBearerTokenOnLogout() {
+        // Given
+        User target = userService.createUser(User.createUser("survivor@example.com", "password123"));
+        String url = "http://localhost:" + port + "/api/test/users/" + target.getId();
+        HttpHeaders admin = bearer("admin@authapp.com", "admin123");
+
+        // When
+        ResponseEntity<Map> logout = restTemplate.exchange(
+                "http://localhost:" + port + "/api/auth/logout",
+                HttpMethod.POST, new HttpEntity<>(admin), Map.class);
+        ResponseEntity<Map> afterLogout = restTemplate.exchange(url, HttpMethod.DELETE, new HttpEntity<>(admin), Map.class);
+
+        // Then
+        assertThat(logout.getBody().get("success")).isEqualTo(true);
+        assertThat(afterLogout.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(userService.existsByEmail("survivor@example.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refuse to let anyone but an admin create an admin user")
+    void shouldRefuseSelfIssuedAdmin() {
+        // Given
+        String url = "http://localhost:" + port + "/api/test/users";
+        Map<String, Object> anonymousAdmin = Map.of("email", "sneaky.admin@example.com",
+                "password", "password123", "roles", List.of("ROLE_ADMIN"));
+        Map<String, Object> grantedAdmin = Map.of("email", "granted.admin@example.com",
+                "password", "password123", "roles", List.of("ROLE_ADMIN"));
+        Map<String, Object> plainUser = Map.of("email", "plain.user@example.com", "password", "password123");
+
+        // When
+        ResponseEntity<Map> anonymous = restTemplate.postForEntity(url, anonymousAdmin, Map.class);
+        ResponseEntity<Map> asUser = restTemplate.exchange(url, HttpMethod.POST,
+                new HttpEntity<>(anonymousAdmin, bearer("user@authapp.com", "user123")), Map.class);
+        ResponseEntity<Map> asAdmin = restTemplate.exchange(url, HttpMethod.POST,
+                new HttpEntity<>(grantedAdmin, bearer("admin@authapp.com", "admin123")), Map.class);
+        ResponseEntity<Map> registration = restTemplate.postForEntity(url, plainUser, Map.class);
+
+        // Then
+        assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(asUser.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(userService.existsByEmail("sneaky.admin@example.com")).isFalse();
+        assertThat(asAdmin.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(asAdmin.getBody().get("roles")).asInstanceOf(LIST).containsExactly("ROLE_ADMIN");
+        assertThat(registration.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(registration.getBody().get("roles")).asInstanceOf(LIST).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should rehash a legacy BCrypt password on successful login")
+    void shouldRehashLegacyPasswordOnLogin() {
+        // Given - a hash stored before {id} prefixes were used
+        User legacy = User.createUser("legacy@authapp.com", new BCryptPasswordEncoder(4).encode("legacy123"));
+        userRepository.save(legacy);
+
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/auth/login",
+                Map.of("email", "legacy@authapp.com", "password", "legacy123"),
+                Map.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String storedHash = userRepository.findByEmail("legacy@authapp.com").orElseThrow().getPassword();
+        assertThat(storedHash).startsWith("{bcrypt}");
+    }
+
+    @Test
+    @DisplayName("Should reject login with wrong password")
+    void shouldRejectLoginWithWrongPassword() {
+        // When
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/auth/login",
+                Map.of("email", "admin@authapp.com", "password", "wrong-password"),
+                Map.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().get("success")).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Should expose endpoint timers by outcome in Prometheus format")
+    void shouldExposeEndpointTimersForPrometheus() {
+        // Given
+        restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/auth/login",
+                Map.of("email", "user@authapp.com", "password", "wrong-password"),
+                Map.class
+        );
+        restTemplate.getForEntity("http://localhost:" + port + "/api/test/users/999999", Map.class);
+        ResponseEntity<Map> noSession = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/auth/validate", Map.class);
+
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/actuator/prometheus",
+                String.class
+        );
+
+        // Then
+        assertThat(noSession.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(noSession.getBody().get("valid")).isEqualTo(false);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().lines().filter(line -> line.startsWith("api_requests_seconds_bucket")))
+                .anySatisfy(line -> assertThat(line)
+                        .contains("endpoint=\"/auth/login\"", "outcome=\"bad-credentials\""))
+                .anySatisfy(line -> assertThat(line)
+                        .contains("endpoint=\"/auth/validate\"", "outcome=\"invalid\""))
+                .anySatisfy(line -> assertThat(line)
+                        .contains("endpoint=\"/test/users/{id}\"", "outcome=\"not-found\""));
+    }
+
     @Test
     @DisplayName("Should handle CORS properly")
     void shouldHandleCorssProperly() {
@@ -130,4 +484,20 @@ class AuthBackendApplicationTest {
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    private HttpHeaders bearer(String email, String password) {
+        ResponseEntity<Map> login = restTemplate.postForEntity(
+                "http://localhost:" + port + "/api/auth/login",
+                Map.of("email", email, "password", password),
+                Map.class
+        );
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth((String) login.getBody().get("token"));
+        return headers;
+    }
+
+    private static Integer firstItemId(ResponseEntity<Map> page) {
+        Map<?, ?> item = (Map<?, ?>) ((List<?>) page.getBody().get("items")).get(0);
+        return (Integer) item.get("id");
+    }
 }
@@ -0,0 +1,271 @@
+package com.authapp.backend.audit;
+
+import com.authapp.backend.entity.LoginEvent;
+import com.authapp.backend.entity.LoginEventType;
+import com.authapp.backend.repository.LoginEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for LoginAuditLog.
+ * Runs outside a test-managed transaction so the writer thread's batches really commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("LoginAuditLog Integration Tests")
+class LoginAuditLogTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LoginEventRepository loginEventRepository;
+
+    private MeterRegistry meterRegistry;
+    private LoginAuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (auditLog != null) {
+            auditLog.shutdown();
+        }
+        loginEventRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write recorded events and page them per user, newest first")
+    void shouldWriteAndPageEvents() throws InterruptedException {
+        // Given
+        auditLog = newAuditLog(new TransactionTemplate(transactionManager), 64, LoginAuditLog.OverflowPolicy.DROP);
+        auditLog.record(LoginEventType.LOGIN_FAILED, 1L, "alice@example.com", LoginAuditLog.BAD_CREDENTIALS);
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 2L, "bob@example.com", null);
+        auditLog.record(LoginEventType.LOGOUT, 1L, "alice@example.com", null);
+        auditLog.record(LoginEventType.LOGIN_FAILED, null, "nobody@example.com", LoginAuditLog.USER_NOT_FOUND);
+
+        // When
+        await(() -> loginEventRepository.count() == 5);
+        LoginAuditLog.Page first = auditLog.findByUser(1L, null, 2);
+        LoginAuditLog.Page second = auditLog.findByUser(1L, first.nextBefore(), 2);
+
+        // Then
+        assertThat(first.events()).extracting(LoginEvent::getType)
+                .containsExactly(LoginEventType.LOGOUT, LoginEventType.LOGIN_SUCCEEDED);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.events()).extracting(LoginEvent::getType, LoginEvent::getReason)
+                .containsExactly(tuple(LoginEventType.LOGIN_FAILED, LoginAuditLog.BAD_CREDENTIALS));
+        assertThat(second.hasMore()).isFalse();
+        assertThat(auditLog.findByUser(2L, null, 10).events()).hasSize(1);
+        assertThat(meterRegistry.get("login.audit.written").functionCounter().count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop and count events that find the buffer full under the DROP policy")
+    void shouldDropWhenFull() throws InterruptedException {
+        // Given
+        GatedTransactionTemplate transactions = new GatedTransactionTemplate(transactionManager);
+        auditLog = newAuditLog(transactions, 2, LoginAuditLog.OverflowPolicy.DROP);
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+        await(() -> auditLog.queued() == 0);
+
+        // When
+        auditLog.record(LoginEventType.LOGOUT, 1L, "alice@example.com", null);
+        auditLog.record(LoginEventType.LOGIN_FAILED, 1L, "alice@example.com", LoginAuditLog.BAD_CREDENTIALS);
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+        transactions.open();
+
+        // Then
+        await(() -> loginEventRepository.count() == 3);
+        assertThat(meterRegistry.get("login.audit.dropped").functionCounter().count()).isEqualTo(1);
+        assertThat(auditLog.findByUser(1L, null, 10).events()).extracting(LoginEvent::getType)
+                .containsExactly(LoginEventType.LOGIN_FAILED, LoginEventType.LOGOUT, LoginEventType.LOGIN_SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should make callers wait for room under the BLOCK policy")
+    void shouldBlockWhenFull() throws InterruptedException {
+        // Given
+        GatedTransactionTemplate transactions = new GatedTransactionTemplate(transactionManager);
+        auditLog = newAuditLog(transactions, 2, LoginAuditLog.OverflowPolicy.BLOCK);
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+        await(() -> auditLog.queued() == 0);
+        auditLog.record(LoginEventType.LOGOUT, 1L, "alice@example.com", null);
+        auditLog.record(LoginEventType.LOGIN_FAILED, 1L, "alice@example.com", LoginAuditLog.BAD_CREDENTIALS);
+
+        // When
+        Thread blocked = new Thread(() ->
+                auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null));
+        blocked.start();
+        blocked.join(200);
+        boolean waitedWhileFull = blocked.isAlive();
+        transactions.open();
+        blocked.join(5_000);
+
+        // Then
+        assertThat(waitedWhileFull).isTrue();
+        assertThat(blocked.isAlive()).isFalse();
+        await(() -> loginEventRepository.count() == 4);
+        assertThat(meterRegistry.get("login.audit.dropped").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write queued events on shutdown")
+    void shouldDrainOnShutdown() throws InterruptedException {
+        // Given
+        auditLog = newAuditLog(new TransactionTemplate(transactionManager), 64, LoginAuditLog.OverflowPolicy.DROP);
+        for (int i = 0; i < 20; i++) {
+            auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+        }
+
+        // When
+        auditLog.shutdown();
+        auditLog.record(LoginEventType.LOGOUT, 1L, "alice@example.com", null);
+
+        // Then
+        assertThat(loginEventRepository.count()).isEqualTo(20);
+        assertThat(meterRegistry.get("login.audit.dropped").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch instead of dropping it")
+    void shouldRetryFailedBatch() throws InterruptedException {
+        // Given - the first two writes fail
+        FailingTransactionTemplate transactions = new FailingTransactionTemplate(transactionManager, 2);
+        auditLog = newAuditLog(transactions, 64, LoginAuditLog.OverflowPolicy.DROP);
+
+        // When
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+
+        // Then
+        await(() -> loginEventRepository.count() == 1);
+        assertThat(transactions.attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("login.audit.dropped").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop and count a batch that fails every attempt")
+    void shouldDropBatchAfterMaxAttempts() throws InterruptedException {
+        // Given
+        FailingTransactionTemplate transactions = new FailingTransactionTemplate(transactionManager, Integer.MAX_VALUE);
+        auditLog = newAuditLog(transactions, 64, LoginAuditLog.OverflowPolicy.DROP);
+
+        // When
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+
+        // Then
+        await(() -> meterRegistry.get("login.audit.dropped").functionCounter().count() == 1);
+        assertThat(transactions.attempts.get()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(loginEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not write anything before it is started")
+    void shouldNotWriteBeforeStart() throws InterruptedException {
+        // Given
+        auditLog = new LoginAuditLog(jdbcTemplate, new TransactionTemplate(transactionManager), loginEventRepository,
+                meterRegistry, 64, 1, LoginAuditLog.OverflowPolicy.DROP, 5, MAX_ATTEMPTS, 1);
+
+        // When
+        auditLog.record(LoginEventType.LOGIN_SUCCEEDED, 1L, "alice@example.com", null);
+        Thread.sleep(100);
+
+        // Then
+        assertThat(auditLog.queued()).isEqualTo(1);
+        assertThat(loginEventRepository.count()).isZero();
+    }
+
+    private LoginAuditLog newAuditLog(TransactionTemplate transactions, int capacity,
+                                      LoginAuditLog.OverflowPolicy overflow) {
+        LoginAuditLog created = new LoginAuditLog(jdbcTemplate, transactions, loginEventRepository, meterRegistry,
+                capacity, 1, overflow, 5, MAX_ATTEMPTS, 1);
+        created.start();
+        return created;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /**
+     * Fails the first {@code failures} writes, as a database outage would.
+     */
+    private static class FailingTransactionTemplate extends TransactionTemplate {
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final int failures;
+
+        FailingTransactionTemplate(PlatformTransactionManager transactionManager, int failures) {
+            super(transactionManager);
+            this.failures = failures;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new CannotCreateTransactionException("database unavailable");
+            }
+            return super.execute(action);
+        }
+    }
+
+    /**
+     * Holds the writer inside its first write until opened, so the buffer can be filled behind it.
+     */
+    private static class GatedTransactionTemplate extends TransactionTemplate {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        GatedTransactionTemplate(PlatformTransactionManager transactionManager) {
+            super(transactionManager);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.execute(action);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.authapp.backend.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for MpscRingBuffer.
+ */
+@DisplayName("MpscRingBuffer Tests")
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up to a power of two")
+    void shouldRoundCapacity() {
+        // When & Then
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpscRingBuffer<>(8).capacity()).isEqualTo(8);
+        assertThatThrownBy(() -> new MpscRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject offers when full and accept them again after a drain")
+    void shouldRejectWhenFull() {
+        // Given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        // When
+        boolean overflowed = buffer.offer(4);
+        List<Integer> drained = new ArrayList<>();
+        int count = buffer.drain(drained::add, 2);
+
+        // Then
+        assertThat(overflowed).isFalse();
+        assertThat(count).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.offer(6)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should report a full buffer at the smallest capacity")
+    void shouldRejectWhenFullAtSmallestCapacity() {
+        // Given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1);
+        List<Integer> drained = new ArrayList<>();
+
+        // When & Then - each lap hands the slots back, and a third offer never overwrites a queued element
+        for (int lap = 0; lap < 3; lap++) {
+            assertThat(buffer.offer(2 * lap)).isTrue();
+            assertThat(buffer.offer(2 * lap + 1)).isTrue();
+            assertThat(buffer.offer(-1)).isFalse();
+            assertThat(buffer.drain(drained::add, Integer.MAX_VALUE)).isEqualTo(2);
+        }
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drain in FIFO order across several laps")
+    void shouldDrainInOrderAcrossLaps() {
+        // Given
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(i);
+            if (i % 3 == 2) {
+                buffer.drain(drained::add, Integer.MAX_VALUE);
+            }
+        }
+        buffer.drain(drained::add, Integer.MAX_VALUE);
+
+        // Then
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hand every element from concurrent producers to the consumer exactly once")
+    void shouldDeliverConcurrentOffersOnce() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        // Yield rather than spin, so the consumer gets to run on a single CPU
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+
+        // When
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        int[] lastPerProducer = new int[producers];
+        Arrays.fill(lastPerProducer, -1);
+        List<String> outOfOrder = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drain(value -> {
+                seen.add(value);
+                int producer = value / perProducer;
+                if (value <= lastPerProducer[producer]) {
+                    outOfOrder.add(String.valueOf(value));
+                }
+                lastPerProducer[producer] = value;
+            }, 64);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(outOfOrder).isEmpty();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
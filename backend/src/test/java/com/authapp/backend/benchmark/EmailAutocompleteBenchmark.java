@@ -0,0 +1,61 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.search.EmailRadixTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH latency of top-10 email prefix autocomplete over 1M synthetic emails.
+ * Setup also prints the tree's memory per million emails, both as estimated by the tree and as
+ * measured by the heap growth across building it.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=EmailAutocomplete
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmailAutocompleteBenchmark {
+
+    private static final int EMAILS = 1_000_000;
+    private static final int LIMIT = 10;
+
+    private static final String[] FIRST = {"tom", "ann", "maria", "li", "oskar", "jane", "ravi", "eve"};
+    private static final String[] LAST = {"smith", "nguyen", "garcia", "kowalski", "okafor", "chen", "berg"};
+    private static final String[] DOMAINS = {"example.com", "mail.org", "corp.example.net", "uni.edu"};
+
+    @Param({"t", "maria.garcia", "ravi.chen1234", "zz"})
+    private String prefix;
+
+    private EmailRadixTree tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        tree = new EmailRadixTree();
+        for (int i = 0; i < EMAILS; i++) {
+            tree.put(i, FIRST[i % FIRST.length] + "." + LAST[i / FIRST.length % LAST.length]
+                    + i / (FIRST.length * LAST.length) + "@" + DOMAINS[i % DOMAINS.length]);
+        }
+
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+        double perMillion = 1_000_000.0 / tree.size();
+        System.out.printf("%nEmail radix tree: %d emails, estimated %.1f MiB, measured %.1f MiB per million emails%n",
+                tree.size(), tree.estimatedBytes() * perMillion / (1 << 20),
+                (heapAfter - heapBefore) * perMillion / (1 << 20));
+    }
+
+    @Benchmark
+    public List<EmailRadixTree.Suggestion> complete() {
+        return tree.complete(prefix, LIMIT);
+    }
+}
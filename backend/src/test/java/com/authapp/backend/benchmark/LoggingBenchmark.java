@@ -0,0 +1,126 @@
+package com.authapp.backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.authapp.backend.logging.LogSamplingFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH cost, on the calling thread, of logging one per-login INFO line from 4 request threads:
+ * written synchronously by the console appender, handed to the bounded async queue, or handed to the
+ * queue behind the 1-in-100 sampling filter as in the prod profile. Output goes to a null stream with
+ * Spring Boot's console pattern, so formatting is paid but the terminal is not.
+ * A sustained loop would outrun the single writer and fill the queue, so each iteration instead logs one
+ * batch per thread that fits well under the queue's discarding mark, and the queue drains between
+ * iterations; the score is the time per line. Teardown prints how many lines were logged, written and
+ * dropped, and dropped should be 0 for the timings to mean enqueueing rather than discarding.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=Logging
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 100)
+@Measurement(iterations = 200)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final int QUEUE_SIZE = 8192;
+    private static final int SAMPLE_RATE = 100;
+    // 4 threads x 1024 lines fill half the queue, short of the 80% mark where INFO starts being discarded
+    private static final int BATCH = 1024;
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync", "async", "asyncSampled"})
+    public String mode;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private AsyncAppender async;
+    private final AtomicLong logged = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        loggerContext = new LoggerContext();
+        // A bare context has no MDC adapter, and the async appender copies the MDC into every event
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>() {
+            @Override
+            protected void subAppend(ILoggingEvent event) {
+                super.subAppend(event);
+                written.incrementAndGet();
+            }
+        };
+        console.setContext(loggerContext);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        logger = loggerContext.getLogger("com.authapp.backend.service.AuthService");
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        if (mode.equals("sync")) {
+            logger.addAppender(console);
+            return;
+        }
+        async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setName("ASYNC_CONSOLE");
+        async.setQueueSize(QUEUE_SIZE);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(console);
+        if (mode.equals("asyncSampled")) {
+            LogSamplingFilter sampling = new LogSamplingFilter();
+            sampling.setRate(SAMPLE_RATE);
+            sampling.start();
+            async.addFilter(sampling);
+        }
+        async.start();
+        logger.addAppender(async);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainQueue() throws InterruptedException {
+        while (async != null && async.getNumberOfElementsInQueue() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        loggerContext.stop();
+        long attempted = logged.get();
+        long expected = mode.equals("asyncSampled") ? (attempted + SAMPLE_RATE - 1) / SAMPLE_RATE : attempted;
+        System.out.printf("%n%s: %d lines logged, %d passed sampling, %d written, %d dropped%n",
+                mode, attempted, expected, written.get(), expected - written.get());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void loginSucceeded() {
+        for (int i = 0; i < BATCH; i++) {
+            logger.info(LogSamplingFilter.SAMPLED, "Login successful for user: {}", "alice@example.com");
+        }
+        logged.addAndGet(BATCH);
+    }
+}
@@ -0,0 +1,88 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.dto.LoginRequestDto;
+import com.authapp.backend.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH cost of a wave of concurrent {@code /auth/validate} requests against the servlet API on Tomcat
+ * and the reactive API on Netty. One operation opens {@code concurrency} connections at once and
+ * waits for every answer, so the MVC variant queues whatever exceeds its request threads while the
+ * reactive one answers all of them from its event loops. The fork runs on a 256 MB heap, and the
+ * GC profiler's gc.alloc.rate.norm shows the allocation per wave. The client shares the fork and the
+ * profiler counts every thread, so that figure includes the client's own allocation; the client is the
+ * same in both variants, so compare them at equal concurrency and read the difference as the server's.
+ * Report average time and gc.alloc.rate.norm for each of the four variant and concurrency pairs.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ReactiveValidation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class ReactiveValidationBenchmark {
+
+    @Param({"mvc", "reactive"})
+    public String variant;
+
+    @Param({"256", "4096"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest validate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] profiles = variant.equals("reactive") ? new String[]{"test", "reactive"} : new String[]{"test"};
+        // Passed as arguments: default properties would lose to the same keys in the profiles' files
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:validation-benchmark;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.authapp=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String sessionId = context.getBean(AuthService.class)
+                .login(new LoginRequestDto("user@authapp.com", "user123"))
+                .getSessionId();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        validate = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/validate"))
+                .header("X-Session-ID", sessionId)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int validateWave() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = client.sendAsync(validate, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Validate returned " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
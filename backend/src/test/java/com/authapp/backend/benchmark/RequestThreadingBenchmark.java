@@ -0,0 +1,114 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.dto.LoginRequestDto;
+import com.authapp.backend.dto.LoginResponseDto;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.service.AuthService;
+import com.authapp.backend.service.PasswordVerificationService;
+import com.authapp.backend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local load test of the running server on platform request threads against virtual ones.
+ * Boots the application on a random port, once per {@code threading} value, and drives
+ * {@code /auth/login}, {@code /auth/validate} and {@code /test/users/{id}} over HTTP from 64 client
+ * threads. Throughput mode reports requests per second; sample mode adds the p99 latency.
+ * Login runs at the test profile's cheapest BCrypt cost, so it measures request handling rather than hashing.
+ * The fork traces pinned virtual threads, so any carrier pinning during the run is printed with its frames.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RequestThreading
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class RequestThreadingBenchmark {
+
+    private static final String EMAIL = "load@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI login;
+    private URI validate;
+    private URI userById;
+    private String loginBody;
+    private String bearer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as arguments: default properties would lose to the same keys in the profile's files
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + threading.equals("virtual"),
+                        "--spring.datasource.url=jdbc:h2:mem:threading-benchmark;DB_CLOSE_DELAY=-1",
+                        "--app.password.executor.queue-capacity=1024",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.authapp=WARN");
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port + "/api";
+
+        User user = User.createUser(EMAIL, context.getBean(PasswordVerificationService.class).encode(PASSWORD));
+        long userId = context.getBean(UserService.class).createUser(user).getId();
+        LoginResponseDto session = context.getBean(AuthService.class)
+                .login(new LoginRequestDto(EMAIL, PASSWORD));
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        login = URI.create(base + "/auth/login");
+        validate = URI.create(base + "/auth/validate");
+        userById = URI.create(base + "/test/users/" + userId);
+        loginBody = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+        bearer = "Bearer " + session.getToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(login)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build());
+    }
+
+    @Benchmark
+    public int validate() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(validate)
+                .header("Authorization", bearer)
+                .GET()
+                .build());
+    }
+
+    @Benchmark
+    public int userById() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(userById).GET().build());
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + status);
+        }
+        return status;
+    }
+}
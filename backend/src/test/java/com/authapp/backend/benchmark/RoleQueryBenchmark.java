@@ -0,0 +1,119 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.RoleMaskConverter;
+import com.authapp.backend.service.UserFileFormat;
+import com.authapp.backend.service.UserImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JMH comparison of the queries behind /test/stats and /test/users/role/{role} on the role bitmask
+ * column against the former user_roles join table, which is rebuilt alongside for the comparison.
+ * Both sides run the same shape of SQL through JDBC, so the difference is the schema alone.
+ * H2 hands back the previous result of an unchanged query on an unchanged table without running it,
+ * which would leave only the row mapping to measure, so result reuse is turned off.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RoleQuery
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleQueryBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int ADMIN_EVERY = 100;
+    private static final String HASH = "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BzB7ftOs8XRhQnB.6g3/3nnqpBGy";
+
+    private static final String JOIN_COUNT =
+            "SELECT COUNT(u.id) FROM users u JOIN legacy_user_roles r ON r.user_id = u.id WHERE r.role = ?";
+    private static final String JOIN_LIST = """
+            SELECT u.id, u.email, r2.role FROM users u
+            JOIN legacy_user_roles r ON r.user_id = u.id
+            LEFT JOIN legacy_user_roles r2 ON r2.user_id = u.id
+            WHERE r.role = ?""";
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private String maskCount;
+    private String maskList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:role-benchmark;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0;"
+                                + "OPTIMIZE_REUSE_RESULTS=FALSE",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < USERS; i++) {
+            String roles = i % ADMIN_EVERY == 0 ? "[\"ROLE_ADMIN\"]" : "[\"ROLE_USER\"]";
+            ndjson.append("{\"email\":\"role").append(i).append("@example.com\",\"password\":\"").append(HASH)
+                    .append("\",\"roles\":").append(roles).append("}\n");
+        }
+        context.getBean(UserImportService.class).importUsers(UserFileFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // Rebuild the former element-collection table, indexed the way Hibernate generated it
+        jdbcTemplate.execute("CREATE TABLE legacy_user_roles (user_id BIGINT NOT NULL REFERENCES users(id), "
+                + "role VARCHAR(255) NOT NULL)");
+        for (Role role : Role.values()) {
+            jdbcTemplate.update("INSERT INTO legacy_user_roles SELECT id, CAST(? AS VARCHAR) FROM users "
+                    + "WHERE BITAND(role_mask, " + role.getBit() + ") <> 0", role.name());
+        }
+
+        String masks = RoleMaskConverter.masksContaining(Role.ROLE_ADMIN).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        maskCount = "SELECT COUNT(*) FROM users WHERE role_mask IN (" + masks + ")";
+        maskList = "SELECT id, email, role_mask FROM users WHERE role_mask IN (" + masks + ")";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long statsBitmask() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)
+                + jdbcTemplate.queryForObject(maskCount, Long.class)
+                + jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM users WHERE role_mask IN (1, 3)", Long.class);
+    }
+
+    @Benchmark
+    public long statsJoin() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class)
+                + jdbcTemplate.queryForObject(JOIN_COUNT, Long.class, Role.ROLE_ADMIN.name())
+                + jdbcTemplate.queryForObject(JOIN_COUNT, Long.class, Role.ROLE_USER.name());
+    }
+
+    @Benchmark
+    public List<String> adminsBitmask() {
+        return jdbcTemplate.query(maskList, (rs, rowNum) ->
+                rs.getString("email") + RoleMaskConverter.fromMask(rs.getInt("role_mask")));
+    }
+
+    @Benchmark
+    public List<String> adminsJoin() {
+        return jdbcTemplate.query(JOIN_LIST, (rs, rowNum) -> rs.getString("email") + rs.getString("role"),
+                Role.ROLE_ADMIN.name());
+    }
+}
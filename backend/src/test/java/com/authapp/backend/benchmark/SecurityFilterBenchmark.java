@@ -0,0 +1,92 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.security.JwtTokenProvider;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH cost per request of the whole servlet security filter chain, JWT authentication and authorization
+ * included, with the controller replaced by an empty terminal chain. Compares an anonymous request to an
+ * open route, a bearer request to an open route, and an admin bearer request to an admin-only route;
+ * tokens are warm, as for a client making repeat calls.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SecurityFilter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private Filter securityFilterChain;
+    private String userBearer;
+    private String adminBearer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:security-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        securityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        userBearer = "Bearer " + jwtTokenProvider.issue(2L, "user@authapp.com", Set.of(Role.ROLE_USER));
+        adminBearer = "Bearer " + jwtTokenProvider.issue(1L, "admin@authapp.com", Set.of(Role.ROLE_ADMIN));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int anonymousOpenRoute() throws ServletException, IOException {
+        return filter(request("GET", "/test/users/1"));
+    }
+
+    @Benchmark
+    public int bearerOpenRoute() throws ServletException, IOException {
+        MockHttpServletRequest request = request("GET", "/test/users/1");
+        request.addHeader("Authorization", userBearer);
+        return filter(request);
+    }
+
+    @Benchmark
+    public int adminBearerAdminRoute() throws ServletException, IOException {
+        MockHttpServletRequest request = request("DELETE", "/test/users/1");
+        request.addHeader("Authorization", adminBearer);
+        return filter(request);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        request.setServletPath(path);
+        return request;
+    }
+
+    private int filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilterChain.doFilter(request, response, new MockFilterChain());
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException(request.getMethod() + " " + request.getRequestURI() + " returned " + response.getStatus());
+        }
+        return response.getStatus();
+    }
+}
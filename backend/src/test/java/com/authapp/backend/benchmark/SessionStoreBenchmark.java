@@ -0,0 +1,60 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.session.Session;
+import com.authapp.backend.session.SessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of session validation and logout under 64 concurrent threads.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SessionStore
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(64)
+public class SessionStoreBenchmark {
+
+    @Param({"1000000"})
+    private int liveSessions;
+
+    private SessionStore sessionStore;
+    private String[] sessionIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionStore = new SessionStore(86_400_000L, 64, 1_000L, Clock.systemUTC());
+        sessionIds = new String[liveSessions];
+        for (int i = 0; i < liveSessions; i++) {
+            sessionIds[i] = sessionStore.create((long) i, "user" + i + "@example.com").getId();
+        }
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return sessionStore.isValid(sessionIds[ThreadLocalRandom.current().nextInt(sessionIds.length)]);
+    }
+
+    @Benchmark
+    public boolean validateUnknown() {
+        return sessionStore.isValid("00000000-0000-0000-0000-000000000000");
+    }
+
+    /**
+     * Logout followed by a fresh login, so the live population stays constant.
+     */
+    @Benchmark
+    public Session logoutAndLogin() {
+        int slot = ThreadLocalRandom.current().nextInt(sessionIds.length);
+        sessionStore.invalidate(sessionIds[slot]);
+        Session session = sessionStore.create((long) slot, "user" + slot + "@example.com");
+        sessionIds[slot] = session.getId();
+        return session;
+    }
+}
@@ -0,0 +1,64 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.security.JwtTokenProvider;
+import com.authapp.backend.session.SessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of /auth/validate paths: session-store lookup vs JWT verification,
+ * with the verified-token cache warm (hot tokens) and bypassed (cold tokens).
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TokenValidation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TokenValidationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHmacSha256";
+    private static final int TOKENS = 1_000;
+
+    private SessionStore sessionStore;
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String[] sessionIds;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionStore = new SessionStore(86_400_000L, 64, 1_000L, Clock.systemUTC());
+        cachingProvider = new JwtTokenProvider(SECRET, 86_400_000L, TOKENS * 2, Clock.systemUTC());
+        uncachedProvider = new JwtTokenProvider(SECRET, 86_400_000L, 0, Clock.systemUTC());
+        sessionIds = new String[TOKENS];
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            String email = "user" + i + "@example.com";
+            sessionIds[i] = sessionStore.create((long) i, email).getId();
+            tokens[i] = cachingProvider.issue((long) i, email, Set.of(Role.ROLE_USER));
+        }
+    }
+
+    @Benchmark
+    public boolean sessionStore() {
+        return sessionStore.isValid(sessionIds[ThreadLocalRandom.current().nextInt(TOKENS)]);
+    }
+
+    @Benchmark
+    public boolean jwtCached() {
+        return cachingProvider.verify(tokens[ThreadLocalRandom.current().nextInt(TOKENS)]).isPresent();
+    }
+
+    @Benchmark
+    public boolean jwtUncached() {
+        return uncachedProvider.verify(tokens[ThreadLocalRandom.current().nextInt(TOKENS)]).isPresent();
+    }
+}
@@ -0,0 +1,73 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.dto.UserImportResultDto;
+import com.authapp.backend.service.UserFileFormat;
+import com.authapp.backend.service.UserImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput of the bulk user import into the in-memory H2 database, reported in users per second.
+ * Each invocation imports a fresh NDJSON upload of pre-hashed users; tables are emptied between iterations.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserImport
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserImportBenchmark {
+
+    private static final int USERS_PER_UPLOAD = 10_000;
+    private static final String HASH = "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BzB7ftOs8XRhQnB.6g3/3nnqpBGy";
+
+    private ConfigurableApplicationContext context;
+    private UserImportService userImportService;
+    private JdbcTemplate jdbcTemplate;
+    private long uploads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:import-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        userImportService = context.getBean(UserImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'import%'");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_UPLOAD)
+    public UserImportResultDto importNdjson() throws IOException {
+        long upload = uploads++;
+        StringBuilder ndjson = new StringBuilder(USERS_PER_UPLOAD * 120);
+        for (int i = 0; i < USERS_PER_UPLOAD; i++) {
+            ndjson.append("{\"email\":\"import").append(upload).append('-').append(i)
+                    .append("@example.com\",\"password\":\"").append(HASH).append("\"}\n");
+        }
+        return userImportService.importUsers(UserFileFormat.NDJSON,
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.dto.UserResponseDto;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * JMH cost of listing 10k users as response DTOs: managed entities in a read-write transaction,
+ * as the list endpoints used to load them, read-only entities, and the {@code UserSummary} projection.
+ * One operation is one 10k-row listing, so the GC profiler's gc.alloc.rate.norm is the heap allocated per 10k rows.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserListing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserListingBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final String HASH = "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BzB7ftOs8XRhQnB.6g3/3nnqpBGy";
+    private static final String ENTITY_QUERY = "SELECT u FROM User u WHERE u.id > 0 ORDER BY u.id";
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:listing-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO users (id, email, email_normalized, password, role_mask, enabled, account_non_expired,
+                                   account_non_locked, credentials_non_expired, created_at, updated_at)
+                SELECT X + 1000000, 'list' || X || '@example.com', 'list' || X || '@example.com', ?, 1,
+                       TRUE, TRUE, TRUE, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)""", HASH, ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> managedEntities() {
+        // Hydrates entities, snapshots their loaded state and dirty checks all of them at commit
+        return readWrite.execute(status -> entityManager.createQuery(ENTITY_QUERY, User.class)
+                .setMaxResults(ROWS)
+                .getResultStream()
+                .map(UserResponseDto::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UserResponseDto> readOnlyEntities() {
+        // Still hydrates and registers entities, but keeps no snapshots and never flushes
+        return readOnly.execute(status -> entityManager.createQuery(ENTITY_QUERY, User.class)
+                .setHint(HINT_READ_ONLY, true)
+                .setMaxResults(ROWS)
+                .getResultStream()
+                .map(UserResponseDto::from)
+                .toList());
+    }
+
+    @Benchmark
+    public List<UserResponseDto> summaryProjection() {
+        return readOnly.execute(status -> userRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(ROWS))
+                .stream()
+                .map(UserResponseDto::from)
+                .toList());
+    }
+}
@@ -0,0 +1,68 @@
+package com.authapp.backend.benchmark;
+
+import com.authapp.backend.AuthBackendApplication;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import com.authapp.backend.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the user read path: cached UserService lookups vs direct repository queries
+ * against the in-memory H2 test database.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=UserLookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UserLookupBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AuthBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        emails = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            emails[i] = "bench" + i + "@example.com";
+            userService.createUser(User.createUser(emails[i], "{noop}password" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> cachedFindByEmail() {
+        return userService.findByEmail(emails[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+
+    @Benchmark
+    public Optional<User> repositoryFindByEmail() {
+        return userRepository.findByEmail(emails[ThreadLocalRandom.current().nextInt(USERS)]);
+    }
+}
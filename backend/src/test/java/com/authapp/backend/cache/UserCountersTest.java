@@ -0,0 +1,237 @@
+package com.authapp.backend.cache;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserCounters.
+ * Transactions are simulated by driving Spring's synchronization callbacks by hand.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserCounters Tests")
+class UserCountersTest {
+
+    private static final int USER = Role.ROLE_USER.getBit();
+    private static final int ADMIN = Role.ROLE_ADMIN.getBit();
+    private static final int RECOUNT_ATTEMPTS = 3;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.countGroupedByRoleMask()).thenReturn(rows(
+                new Object[]{USER, 3L},
+                new Object[]{USER | ADMIN, 1L}));
+        counters = new UserCounters(userRepository, RECOUNT_ATTEMPTS, new SimpleMeterRegistry());
+        counters.seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should seed totals and per-role counts from one grouped query")
+    void shouldSeedFromDatabase() {
+        // Then
+        assertThat(counters.total()).isEqualTo(4);
+        assertThat(counters.count(Role.ROLE_USER)).isEqualTo(4);
+        assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(1);
+        verify(userRepository, times(1)).countGroupedByRoleMask();
+    }
+
+    @Test
+    @DisplayName("Should apply changes immediately outside a transaction")
+    void shouldApplyImmediatelyWithoutTransaction() {
+        // When
+        counters.userCreated(Set.of(Role.ROLE_ADMIN));
+        counters.userDeleted(Set.of(Role.ROLE_USER));
+        counters.rolesChanged(Set.of(Role.ROLE_USER), Set.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+
+        // Then
+        assertThat(counters.total()).isEqualTo(4);
+        assertThat(counters.count(Role.ROLE_USER)).isEqualTo(3);
+        assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count a batch of created users")
+    void shouldCountBatch() {
+        // When
+        counters.usersCreated(List.of(Set.of(Role.ROLE_USER), Set.of(Role.ROLE_USER), Set.of(Role.ROLE_ADMIN)));
+
+        // Then
+        assertThat(counters.total()).isEqualTo(7);
+        assertThat(counters.count(Role.ROLE_USER)).isEqualTo(6);
+        assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(2);
+    }
+
+    @Nested
+    @DisplayName("Transactional Tests")
+    class TransactionalTests {
+
+        @BeforeEach
+        void beginTransaction() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @Test
+        @DisplayName("Should apply a change only once its transaction commits")
+        void shouldApplyAfterCommit() {
+            // Given
+            counters.userCreated(Set.of(Role.ROLE_USER));
+            assertThat(counters.total()).isEqualTo(4);
+
+            // When
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            // Then
+            assertThat(counters.total()).isEqualTo(5);
+            assertThat(counters.count(Role.ROLE_USER)).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should discard a change when its transaction rolls back")
+        void shouldDiscardOnRollback() {
+            // Given
+            counters.userDeleted(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+
+            // When
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // Then
+            assertThat(counters.total()).isEqualTo(4);
+            assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should count several changes in one transaction once it commits")
+        void shouldCombineChangesInOneTransaction() {
+            // Given
+            counters.userCreated(Set.of(Role.ROLE_USER));
+            counters.rolesChanged(Set.of(Role.ROLE_USER), Set.of(Role.ROLE_ADMIN));
+
+            // When
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            // Then
+            assertThat(counters.total()).isEqualTo(5);
+            assertThat(counters.count(Role.ROLE_USER)).isEqualTo(4);
+            assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should apply a write in flight during the recount on top of it once it commits")
+        void shouldApplyWriteInFlightOnTopOfRecount() {
+            // Given - recorded, but not yet committing, so the recount cannot have seen it
+            when(userRepository.countGroupedByRoleMask()).thenReturn(rows(new Object[]{USER, 10L}));
+            counters.userCreated(Set.of(Role.ROLE_USER));
+
+            // When
+            boolean reconciled = counters.reconcile();
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            // Then
+            assertThat(reconciled).isTrue();
+            assertThat(counters.total()).isEqualTo(11);
+        }
+
+        @Test
+        @DisplayName("Should give up reconciling while a commit overlaps every recount")
+        void shouldSkipReconciliationWhileCommitting() {
+            // Given - the commit has started, so a count may or may not include it
+            counters.userCreated(Set.of(Role.ROLE_USER));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::beforeCompletion);
+
+            // When
+            boolean reconciled = counters.reconcile();
+
+            // Then
+            assertThat(reconciled).isFalse();
+            assertThat(counters.total()).isEqualTo(4);
+            verify(userRepository, times(1)).countGroupedByRoleMask();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hold back a write that commits during the recount, and recount again")
+    void shouldRecountAfterOverlappingCommit() throws Exception {
+        // Given - a transaction records and commits while the first count runs
+        Thread writer = new Thread(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            counters.userCreated(Set.of(Role.ROLE_ADMIN));
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+        });
+        when(userRepository.countGroupedByRoleMask())
+                .thenAnswer(invocation -> {
+                    writer.start();
+                    writer.join(5_000);
+                    return rows(new Object[]{USER, 100L});
+                })
+                .thenReturn(rows(new Object[]{USER, 100L}, new Object[]{ADMIN, 1L}));
+
+        // When
+        boolean reconciled = counters.reconcile();
+
+        // Then - the writer finished inside the first count, which was discarded for the second
+        assertThat(writer.isAlive()).isFalse();
+        assertThat(reconciled).isTrue();
+        assertThat(counters.total()).isEqualTo(101);
+        assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(1);
+        verify(userRepository, times(3)).countGroupedByRoleMask();
+    }
+
+    @Test
+    @DisplayName("Should replace drifted counters on reconciliation")
+    void shouldCorrectDrift() {
+        // Given
+        when(userRepository.countGroupedByRoleMask()).thenReturn(rows(
+                new Object[]{USER, 10L},
+                new Object[]{ADMIN, 2L},
+                new Object[]{0, 1L}));
+
+        // When
+        boolean reconciled = counters.reconcile();
+
+        // Then
+        assertThat(reconciled).isTrue();
+        assertThat(counters.total()).isEqualTo(13);
+        assertThat(counters.count(Role.ROLE_USER)).isEqualTo(10);
+        assertThat(counters.count(Role.ROLE_ADMIN)).isEqualTo(2);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::beforeCompletion);
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
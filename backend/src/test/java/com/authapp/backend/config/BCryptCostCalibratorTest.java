@@ -0,0 +1,62 @@
+package com.authapp.backend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BCryptCostCalibrator.
+ * Verification times come from a model where each round doubles the cost, so results do not depend
+ * on the speed of the machine running the tests.
+ */
+@DisplayName("BCryptCostCalibrator Tests")
+class BCryptCostCalibratorTest {
+
+    /** Strength 10 verifies in 50 ms, and each further round takes twice as long. */
+    private static final IntToLongFunction DOUBLING = strength -> 50L << (strength - BCryptCostCalibrator.MIN_STRENGTH);
+
+    @Test
+    @DisplayName("Should pick the strongest strength that meets the target")
+    void shouldPickStrongestWithinTarget() {
+        // When & Then
+        assertThat(BCryptCostCalibrator.calibrate(250, DOUBLING)).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.calibrate(400, DOUBLING)).isEqualTo(13);
+    }
+
+    @Test
+    @DisplayName("Should stay within the strength bounds for any target")
+    void shouldStayWithinBounds() {
+        // When & Then
+        assertThat(BCryptCostCalibrator.calibrate(0, DOUBLING)).isEqualTo(BCryptCostCalibrator.MIN_STRENGTH);
+        assertThat(BCryptCostCalibrator.calibrate(Long.MAX_VALUE, DOUBLING)).isEqualTo(BCryptCostCalibrator.MAX_STRENGTH);
+        assertThat(BCryptCostCalibrator.calibrate(Long.MAX_VALUE, strength -> 0L))
+                .isEqualTo(BCryptCostCalibrator.MAX_STRENGTH);
+    }
+
+    @Test
+    @DisplayName("Should never pick a weaker strength for a larger target")
+    void shouldGrowWithTarget() {
+        // When
+        List<Integer> strengths = new ArrayList<>();
+        for (long target = 0; target <= 5_000; target += 10) {
+            strengths.add(BCryptCostCalibrator.calibrate(target, DOUBLING));
+        }
+
+        // Then
+        assertThat(strengths).isSorted()
+                .allSatisfy(strength -> assertThat(strength)
+                        .isBetween(BCryptCostCalibrator.MIN_STRENGTH, BCryptCostCalibrator.MAX_STRENGTH));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the minimum strength on hardware too slow for the target")
+    void shouldFallBackToMinimumWhenTooSlow() {
+        // When & Then - measured on this machine; no BCrypt verification takes under a millisecond
+        assertThat(BCryptCostCalibrator.calibrate(0)).isEqualTo(BCryptCostCalibrator.MIN_STRENGTH);
+    }
+}
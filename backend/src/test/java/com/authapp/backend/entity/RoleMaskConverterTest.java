@@ -0,0 +1,46 @@
+package com.authapp.backend.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RoleMaskConverter.
+ */
+@DisplayName("RoleMaskConverter Tests")
+class RoleMaskConverterTest {
+
+    private final RoleMaskConverter converter = new RoleMaskConverter();
+
+    @Test
+    @DisplayName("Should round-trip role sets through the bitmask")
+    void shouldRoundTripRoles() {
+        assertThat(converter.convertToDatabaseColumn(Set.of())).isZero();
+        assertThat(converter.convertToDatabaseColumn(Set.of(Role.ROLE_USER, Role.ROLE_ADMIN))).isEqualTo(3);
+        assertThat(converter.convertToEntityAttribute(2)).containsExactly(Role.ROLE_ADMIN);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        assertThat(converter.convertToEntityAttribute(3)).isEqualTo(EnumSet.allOf(Role.class));
+    }
+
+    @Test
+    @DisplayName("Should list every mask that includes a role")
+    void shouldListMasksContainingRole() {
+        assertThat(RoleMaskConverter.masksContaining(Role.ROLE_USER)).containsExactlyInAnyOrder(1, 3);
+        assertThat(RoleMaskConverter.masksContaining(Role.ROLE_ADMIN)).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    @DisplayName("Should give every role its own bit")
+    void shouldGiveEveryRoleItsOwnBit() {
+        int seen = 0;
+        for (Role role : Role.values()) {
+            assertThat(Integer.bitCount(role.getBit())).isEqualTo(1);
+            assertThat(seen & role.getBit()).isZero();
+            seen |= role.getBit();
+        }
+    }
+}
@@ -72,9 +72,9 @@ class UserTest {
         void shouldCreateUserWithAllArgsConstructor() {
             // Given & When
             User user = new User(
-                    1L, "test@example.com", "password123", 
+                    1L, "test@example.com", null, "password123", 
                     Set.of(Role.ROLE_USER), true, true, true, true, 
-                    null, null
+                    null, null, null
             );
 
             // Then
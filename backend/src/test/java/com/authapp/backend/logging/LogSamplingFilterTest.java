@@ -0,0 +1,77 @@
+package com.authapp.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LogSamplingFilter.
+ */
+@DisplayName("LogSamplingFilter Tests")
+class LogSamplingFilterTest {
+
+    private LoggerContext loggerContext;
+    private LogSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        filter = new LogSamplingFilter();
+        filter.setRate(10);
+        filter.start();
+    }
+
+    @Test
+    @DisplayName("Should pass one in rate of the sampled events, starting with the first")
+    void shouldPassOneInRate() {
+        // When
+        long passed = IntStream.range(0, 100)
+                .mapToObj(i -> filter.decide(event(LogSamplingFilter.SAMPLED, "Login successful for user: {}")))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        // Then
+        assertThat(passed).isEqualTo(10);
+        assertThat(filter.decide(event(LogSamplingFilter.SAMPLED, "Logout for session: {}")))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("Should leave events without the marker alone")
+    void shouldIgnoreUnmarkedEvents() {
+        // When & Then
+        IntStream.range(0, 20).forEach(i ->
+                assertThat(filter.decide(event(null, "Login failed: Invalid password for email: {}")))
+                        .isEqualTo(FilterReply.NEUTRAL));
+    }
+
+    @Test
+    @DisplayName("Should pass everything at a rate of one")
+    void shouldPassEverythingAtRateOne() {
+        // Given
+        filter.setRate(1);
+
+        // When & Then
+        IntStream.range(0, 20).forEach(i ->
+                assertThat(filter.decide(event(LogSamplingFilter.SAMPLED, "Login successful for user: {}")))
+                        .isEqualTo(FilterReply.NEUTRAL));
+    }
+
+    private LoggingEvent event(Marker marker, String message) {
+        LoggingEvent event = new LoggingEvent(getClass().getName(), loggerContext.getLogger("test"),
+                Level.INFO, message, null, new Object[]{"alice@example.com"});
+        if (marker != null) {
+            event.addMarker(marker);
+        }
+        return event;
+    }
+}
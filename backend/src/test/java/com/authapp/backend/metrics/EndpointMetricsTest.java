@@ -0,0 +1,77 @@
+package com.authapp.backend.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for EndpointMetrics.
+ */
+@DisplayName("EndpointMetrics Tests")
+class EndpointMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EndpointMetrics endpointMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        endpointMetrics = new EndpointMetrics(meterRegistry, new long[]{100, 10, 50});
+    }
+
+    @Test
+    @DisplayName("Should record each outcome of an endpoint in its own timer")
+    void shouldRecordByOutcome() {
+        // When
+        endpointMetrics.stop(endpointMetrics.start(), "POST", "/auth/login", EndpointMetrics.SUCCESS);
+        endpointMetrics.stop(endpointMetrics.start(), "POST", "/auth/login", EndpointMetrics.SUCCESS);
+        endpointMetrics.stop(endpointMetrics.start(), "POST", "/auth/login", EndpointMetrics.BAD_CREDENTIALS);
+
+        // Then
+        assertThat(timer("/auth/login", EndpointMetrics.SUCCESS).count()).isEqualTo(2);
+        assertThat(timer("/auth/login", EndpointMetrics.BAD_CREDENTIALS).count()).isEqualTo(1);
+        assertThat(meterRegistry.find("api.requests").tag("outcome", EndpointMetrics.DISABLED).timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bucket latencies at the configured service level objectives")
+    void shouldBucketAtServiceLevelObjectives() {
+        // When
+        endpointMetrics.stop(endpointMetrics.start(), "GET", "/auth/validate", EndpointMetrics.SUCCESS);
+        timer("/auth/validate", EndpointMetrics.SUCCESS).record(30, TimeUnit.MILLISECONDS);
+
+        // Then
+        CountAtBucket[] buckets = timer("/auth/validate", EndpointMetrics.SUCCESS).takeSnapshot().histogramCounts();
+        assertThat(Arrays.stream(buckets).mapToDouble(bucket -> bucket.bucket(TimeUnit.MILLISECONDS)))
+                .contains(10.0, 50.0, 100.0);
+    }
+
+    @Test
+    @DisplayName("Should derive outcomes from status codes")
+    void shouldDeriveOutcomeFromStatus() {
+        // When & Then
+        assertThat(EndpointMetrics.outcomeOf(200)).isEqualTo(EndpointMetrics.SUCCESS);
+        assertThat(EndpointMetrics.outcomeOf(201)).isEqualTo(EndpointMetrics.SUCCESS);
+        assertThat(EndpointMetrics.outcomeOf(400)).isEqualTo(EndpointMetrics.BAD_REQUEST);
+        assertThat(EndpointMetrics.outcomeOf(401)).isEqualTo(EndpointMetrics.CLIENT_ERROR);
+        assertThat(EndpointMetrics.outcomeOf(404)).isEqualTo(EndpointMetrics.NOT_FOUND);
+        assertThat(EndpointMetrics.outcomeOf(409)).isEqualTo(EndpointMetrics.CONFLICT);
+        assertThat(EndpointMetrics.outcomeOf(503)).isEqualTo(EndpointMetrics.OVERLOADED);
+        assertThat(EndpointMetrics.outcomeOf(500)).isEqualTo(EndpointMetrics.ERROR);
+    }
+
+    private Timer timer(String endpoint, String outcome) {
+        return meterRegistry.get("api.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,159 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for EmailNormalizationMigration.
+ * Tests that store rows without a normalized email run outside a test-managed transaction, since relaxing the
+ * column and the migration's DDL would commit it halfway; they remove their users afterwards and let the
+ * migration restore the column.
+ */
+@DataJpaTest
+@Import(EmailNormalizationMigration.class)
+@DisplayName("EmailNormalizationMigration Integration Tests")
+class EmailNormalizationMigrationTest {
+
+    @Autowired
+    private EmailNormalizationMigration migration;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        createdIds.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+        createdIds.clear();
+        migration.migrate();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should backfill normalized emails of rows written before the column existed")
+    void shouldBackfillNormalizedEmails() {
+        // Given a user whose row predates the column, which startup has already made NOT NULL
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN email_normalized SET NULL");
+        Long legacy = userRepository.save(User.createUser("Legacy.User@Example.com", "password123")).getId();
+        createdIds.add(legacy);
+        jdbcTemplate.update("UPDATE users SET email_normalized = NULL WHERE id = ?", legacy);
+        assertThat(userRepository.findByEmail("legacy.user@example.com")).isEmpty();
+
+        // When
+        migration.migrate();
+
+        // Then
+        assertThat(userRepository.findByEmail("LEGACY.USER@example.com"))
+                .get().extracting(User::getId).isEqualTo(legacy);
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE users SET email_normalized = NULL WHERE id = ?", legacy))
+                .hasMessageContaining("EMAIL_NORMALIZED");
+        assertThatCode(() -> migration.migrate()).doesNotThrowAnyException();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should stop before writing anything when emails differ only in case")
+    void shouldFailOnCaseDuplicates() {
+        // Given
+        createdIds.addAll(saveCaseDuplicates(userRepository, jdbcTemplate));
+
+        // When & Then
+        assertThatThrownBy(() -> migration.migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.email-normalization.on-conflict=RENAME");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email_normalized IS NULL",
+                Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should shorten a tagged email to fit the column")
+    void shouldShortenTaggedEmail() {
+        // When
+        String tagged = EmailNormalizationMigration.tagDuplicate("a".repeat(90) + "@example.com", 7);
+
+        // Then
+        assertThat(tagged).hasSize(100).endsWith("a+duplicate-7@example.com");
+    }
+
+    /**
+     * Runs in its own context; the enclosing test's beans are wired from the enclosing configuration.
+     */
+    @Nested
+    @TestPropertySource(properties = "app.email-normalization.on-conflict=RENAME")
+    @DisplayName("With the RENAME conflict policy")
+    class RenameTests {
+
+        @Autowired
+        private EmailNormalizationMigration renamingMigration;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private final List<Long> renamedIds = new ArrayList<>();
+
+        @AfterEach
+        void tearDown() {
+            renamedIds.forEach(id -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", id));
+        }
+
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        @DisplayName("Should keep the oldest account's email and tag the others")
+        void shouldRenameNewerDuplicates() {
+            // Given
+            renamedIds.addAll(saveCaseDuplicates(userRepository, jdbcTemplate));
+            Long older = renamedIds.get(0);
+            Long newer = renamedIds.get(1);
+
+            // When
+            renamingMigration.migrate();
+
+            // Then
+            assertThat(userRepository.findById(older)).get()
+                    .extracting(User::getEmail).isEqualTo("Dup.User@Example.com");
+            assertThat(userRepository.findById(newer)).get()
+                    .extracting(User::getEmail).isEqualTo("dup.user+duplicate-" + newer + "@example.com");
+            assertThat(userRepository.findByEmail("dup.user@example.com"))
+                    .get().extracting(User::getId).isEqualTo(older);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email_normalized IS NULL",
+                    Integer.class)).isZero();
+        }
+    }
+
+    /**
+     * Save two pre-normalization rows whose emails differ only in case.
+     *
+     * @return their IDs, the older one first
+     */
+    private static List<Long> saveCaseDuplicates(UserRepository userRepository, JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN email_normalized SET NULL");
+        Long older = userRepository.save(User.createUser("Dup.User@Example.com", "password123")).getId();
+        Long newer = userRepository.save(User.createUser("placeholder@example.com", "password123")).getId();
+        jdbcTemplate.update("UPDATE users SET email = 'dup.user@example.com' WHERE id = ?", newer);
+        jdbcTemplate.update("UPDATE users SET email_normalized = NULL WHERE id IN (?, ?)", older, newer);
+        return List.of(older, newer);
+    }
+}
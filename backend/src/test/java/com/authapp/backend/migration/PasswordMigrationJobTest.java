@@ -0,0 +1,198 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.cache.UserCache;
+import com.authapp.backend.entity.MigrationCheckpoint;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.MigrationCheckpointRepository;
+import com.authapp.backend.repository.UserRepository;
+import com.authapp.backend.security.LegacyPasswordMatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for PasswordMigrationJob.
+ * Runs outside a test-managed transaction so each chunk really commits, as it does in production.
+ */
+@DataJpaTest
+@Import({PasswordMigrationJob.class, UserCache.class, PasswordMigrationJobTest.EncoderConfig.class})
+@TestPropertySource(properties = {
+        "app.password.migration.chunk-size=10",
+        "app.password.migration.parallelism=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("PasswordMigrationJob Integration Tests")
+class PasswordMigrationJobTest {
+
+    private static final int PLAINTEXT_USERS = 25;
+
+    @Autowired
+    private PasswordMigrationJob passwordMigrationJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MigrationCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PLAINTEXT_USERS; i++) {
+            userRepository.save(User.createUser("plain" + i + "@example.com", "password" + i));
+        }
+        userRepository.save(User.createUser("hashed@example.com", passwordEncoder.encode("alreadyHashed")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        userCache.clear();
+    }
+
+    @Test
+    @DisplayName("Should hash every plaintext password and checkpoint progress")
+    void shouldHashPlaintextPasswords() {
+        // When
+        long migrated = passwordMigrationJob.run();
+
+        // Then
+        assertThat(migrated).isEqualTo(PLAINTEXT_USERS);
+        List<User> users = userRepository.findAll();
+        assertThat(users).allSatisfy(user -> assertThat(user.getPassword()).startsWith("{bcrypt}"));
+        User first = userRepository.findByEmail("plain0@example.com").orElseThrow();
+        assertThat(passwordEncoder.matches("password0", first.getPassword())).isTrue();
+
+        MigrationCheckpoint checkpoint = checkpointRepository.findById(PasswordMigrationJob.NAME).orElseThrow();
+        assertThat(checkpoint.getProcessed()).isEqualTo(PLAINTEXT_USERS);
+        // Every row is scanned, including the already hashed one saved last
+        assertThat(checkpoint.getLastId()).isEqualTo(
+                users.stream().mapToLong(User::getId).max().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should be a no-op when run again")
+    void shouldBeIdempotent() {
+        // Given
+        passwordMigrationJob.run();
+
+        // When
+        long migrated = passwordMigrationJob.run();
+
+        // Then
+        assertThat(migrated).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpoint left by an interrupted run")
+    void shouldResumeFromCheckpoint() {
+        // Given - an earlier run committed the first ten rows before it stopped
+        User lastDone = userRepository.findByEmail("plain9@example.com").orElseThrow();
+        MigrationCheckpoint checkpoint = MigrationCheckpoint.builder()
+                .name(PasswordMigrationJob.NAME)
+                .lastId(lastDone.getId())
+                .processed(10L)
+                .build();
+        checkpointRepository.save(checkpoint);
+
+        // When
+        long migrated = passwordMigrationJob.run();
+
+        // Then - rows up to the checkpoint are not revisited
+        assertThat(migrated).isEqualTo(PLAINTEXT_USERS - 10);
+        assertThat(userRepository.findByEmail("plain0@example.com").orElseThrow().getPassword())
+                .isEqualTo("password0");
+        assertThat(userRepository.findByEmail("plain9@example.com").orElseThrow().getPassword())
+                .isEqualTo("password9");
+        assertThat(userRepository.findByEmail("plain10@example.com").orElseThrow().getPassword())
+                .startsWith("{bcrypt}");
+        assertThat(checkpointRepository.findById(PasswordMigrationJob.NAME).orElseThrow().getProcessed())
+                .isEqualTo(PLAINTEXT_USERS);
+    }
+
+    @Test
+    @DisplayName("Should hash plaintext that looks like an encoder prefix")
+    void shouldHashPlaintextStartingWithBrace() {
+        // Given
+        userRepository.save(User.createUser("brace@example.com", "{notAnId}secret"));
+
+        // When
+        long migrated = passwordMigrationJob.run();
+
+        // Then
+        assertThat(migrated).isEqualTo(PLAINTEXT_USERS + 1);
+        User user = userRepository.findByEmail("brace@example.com").orElseThrow();
+        assertThat(user.getPassword()).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("{notAnId}secret", user.getPassword())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should evict migrated users from the user cache")
+    void shouldEvictMigratedUsersFromCache() {
+        // Given - the plaintext row is cached
+        Long id = userRepository.findByEmail("plain0@example.com").orElseThrow().getId();
+        assertThat(userCache.findById(id, () -> userRepository.findById(id)).orElseThrow().getPassword())
+                .isEqualTo("password0");
+
+        // When
+        passwordMigrationJob.run();
+
+        // Then
+        assertThat(userCache.findById(id, () -> userRepository.findById(id)).orElseThrow().getPassword())
+                .startsWith("{bcrypt}");
+    }
+
+    @Test
+    @DisplayName("Should match plaintext passwords before migration")
+    void shouldMatchPlaintextBeforeMigration() {
+        // Given
+        User user = userRepository.findByEmail("plain3@example.com").orElseThrow();
+
+        // Then
+        assertThat(passwordEncoder.matches("password3", user.getPassword())).isTrue();
+        assertThat(passwordEncoder.matches("wrong", user.getPassword())).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(user.getPassword())).isTrue();
+    }
+
+    @TestConfiguration
+    static class EncoderConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+            DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+            encoder.setDefaultPasswordEncoderForMatches(new LegacyPasswordMatcher(bcrypt));
+            return encoder;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for RoleMaskMigration.
+ */
+@DataJpaTest
+@Import(RoleMaskMigration.class)
+@DisplayName("RoleMaskMigration Integration Tests")
+class RoleMaskMigrationTest {
+
+    @Autowired
+    private RoleMaskMigration migration;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should fold legacy role rows into the bitmask and drop the legacy table")
+    void shouldMigrateLegacyRoles() {
+        // Given users written before the bitmask existed
+        Long both = entityManager.persistAndFlush(User.builder().email("both@example.com").password("password123").build()).getId();
+        Long admin = entityManager.persistAndFlush(User.builder().email("admin@example.com").password("password123").build()).getId();
+        Long none = entityManager.persistAndFlush(User.builder().email("none@example.com").password("password123").build()).getId();
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id BIGINT NOT NULL, role VARCHAR(255) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO user_roles VALUES (?, 'ROLE_USER'), (?, 'ROLE_ADMIN'), (?, 'ROLE_ADMIN')",
+                both, both, admin);
+
+        // When
+        migration.migrate();
+        entityManager.clear();
+
+        // Then
+        assertThat(userRepository.findById(both).orElseThrow().getRoles())
+                .containsExactlyInAnyOrder(Role.ROLE_USER, Role.ROLE_ADMIN);
+        assertThat(userRepository.findById(admin).orElseThrow().getRoles()).containsExactly(Role.ROLE_ADMIN);
+        assertThat(userRepository.findById(none).orElseThrow().getRoles()).isEmpty();
+        assertThat(userRepository.countByRole(Role.ROLE_ADMIN)).isEqualTo(2);
+        assertThatCode(() -> migration.migrate()).doesNotThrowAnyException();
+    }
+}
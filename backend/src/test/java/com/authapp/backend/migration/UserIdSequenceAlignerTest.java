@@ -0,0 +1,48 @@
+package com.authapp.backend.migration;
+
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for UserIdSequenceAligner.
+ */
+@DataJpaTest
+@Import(UserIdSequenceAligner.class)
+@DisplayName("UserIdSequenceAligner Integration Tests")
+class UserIdSequenceAlignerTest {
+
+    @Autowired
+    private UserIdSequenceAligner aligner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should move the sequence past IDs written before it existed")
+    void shouldMoveSequencePastExistingIds() {
+        // Given a row whose ID came from the old identity column
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, enabled, account_non_expired, account_non_locked,
+                                   credentials_non_expired, created_at, updated_at)
+                VALUES (500, 'legacy@example.com', 'password123', TRUE, TRUE, TRUE, TRUE,
+                        CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)""");
+
+        // When
+        aligner.align();
+        User saved = userRepository.saveAndFlush(User.createUser("new@example.com", "password123"));
+
+        // Then
+        assertThat(saved.getId()).isGreaterThan(500L);
+    }
+}
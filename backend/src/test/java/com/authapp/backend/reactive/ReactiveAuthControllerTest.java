@@ -0,0 +1,115 @@
+package com.authapp.backend.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the reactive auth API on Netty.
+ * Uses its own in-memory database so it cannot drop tables under the servlet test context.
+ * The auto-configured client already prefixes {@code spring.webflux.base-path}, so URIs omit {@code /api}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "spring.datasource.url=jdbc:h2:mem:reactive-testdb;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "reactive"})
+@DisplayName("Reactive Auth API Integration Tests")
+class ReactiveAuthControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Test
+    @DisplayName("Should serve on Netty rather than Tomcat's reactive adapter")
+    void shouldServeOnNetty() {
+        // When & Then
+        assertThat(context.getWebServer()).isInstanceOf(NettyWebServer.class);
+    }
+
+    @Test
+    @DisplayName("Should log in seeded admin and validate the issued session and token")
+    void shouldLoginAndValidate() {
+        // When
+        Map<?, ?> login = webTestClient.post().uri("/auth/login")
+                .bodyValue(Map.of("email", "admin@authapp.com", "password", "admin123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertThat(login.get("success")).isEqualTo(true);
+        webTestClient.get().uri("/auth/validate")
+                .header("X-Session-ID", (String) login.get("sessionId"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.valid").isEqualTo(true);
+        webTestClient.get().uri("/auth/validate")
+                .headers(headers -> headers.setBearerAuth((String) login.get("token")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.valid").isEqualTo(true)
+                .jsonPath("$.tokenType").isEqualTo("Bearer");
+    }
+
+    @Test
+    @DisplayName("Should reject login with wrong password")
+    void shouldRejectWrongPassword() {
+        // When & Then
+        webTestClient.post().uri("/auth/login")
+                .bodyValue(Map.of("email", "admin@authapp.com", "password", "wrong-password"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.message").isEqualTo("Invalid email or password");
+    }
+
+    @Test
+    @DisplayName("Should invalidate the session on logout")
+    void shouldLogout() {
+        // Given
+        Map<?, ?> login = webTestClient.post().uri("/auth/login")
+                .bodyValue(Map.of("email", "user@authapp.com", "password", "user123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        String sessionId = (String) login.get("sessionId");
+
+        // When
+        webTestClient.post().uri("/auth/logout")
+                .header("X-Session-ID", sessionId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.success").isEqualTo(true);
+
+        // Then
+        webTestClient.get().uri("/auth/validate")
+                .header("X-Session-ID", sessionId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.valid").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Should not serve the servlet-only test API")
+    void shouldNotServeTestApi() {
+        // When & Then
+        webTestClient.get().uri("/test/health")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -2,6 +2,9 @@ package com.authapp.backend.repository;
 
 import com.authapp.backend.entity.Role;
 import com.authapp.backend.entity.User;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,9 +12,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -20,6 +31,8 @@ import static org.assertj.core.api.Assertions.*;
  * Uses @DataJpaTest for repository layer testing with embedded H2 database.
  */
 @DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.authapp.backend.repository.UserRepositoryTest$SqlRecorder")
 @DisplayName("UserRepository Integration Tests")
 class UserRepositoryTest {
 
@@ -29,6 +42,9 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User testUser;
     private User testAdmin;
 
@@ -77,13 +93,14 @@ class UserRepositoryTest {
         }
 
         @Test
-        @DisplayName("Should be case sensitive for email search")
-        void shouldBeCaseSensitiveForEmailSearch() {
+        @DisplayName("Should ignore case and surrounding spaces for email search")
+        void shouldIgnoreCaseForEmailSearch() {
             // When
-            Optional<User> result = userRepository.findByEmail("USER@EXAMPLE.COM");
+            Optional<User> result = userRepository.findByEmail(" USER@Example.COM ");
 
             // Then
-            assertThat(result).isEmpty();
+            assertThat(result).isPresent();
+            assertThat(result.get().getEmail()).isEqualTo("user@example.com");
         }
     }
 
@@ -101,6 +118,16 @@ class UserRepositoryTest {
             assertThat(exists).isTrue();
         }
 
+        @Test
+        @DisplayName("Should ignore case when checking existence by email")
+        void shouldIgnoreCaseWhenCheckingExistence() {
+            // When
+            Boolean exists = userRepository.existsByEmail("Admin@Example.com");
+
+            // Then
+            assertThat(exists).isTrue();
+        }
+
         @Test
         @DisplayName("Should return false when user does not exist by email")
         void shouldReturnFalseWhenUserDoesNotExistByEmail() {
@@ -310,6 +337,25 @@ class UserRepositoryTest {
             assertThat(userRoleUsers).extracting(User::getEmail).contains("multirole@example.com");
             assertThat(adminRoleUsers).extracting(User::getEmail).contains("multirole@example.com");
         }
+
+        @Test
+        @DisplayName("Should persist roles changed in place on a managed user")
+        void shouldPersistInPlaceRoleChanges() {
+            // Given
+            User user = userRepository.findByEmail("user@example.com").orElseThrow();
+
+            // When
+            user.addRole(Role.ROLE_ADMIN);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Then
+            assertThat(userRepository.findByEmail("user@example.com").orElseThrow().getRoles())
+                    .containsExactlyInAnyOrder(Role.ROLE_USER, Role.ROLE_ADMIN);
+            assertThat(userRepository.countByRole(Role.ROLE_ADMIN)).isEqualTo(2);
+            assertThat(userRepository.findByRole(Role.ROLE_USER)).extracting(User::getEmail)
+                    .containsExactly("user@example.com");
+        }
     }
 
     @Nested
@@ -365,4 +411,171 @@ class UserRepositoryTest {
             assertThat(updatedUser.getUpdatedAt()).isAfterOrEqualTo(originalUpdatedAt);
         }
     }
+
+    @Nested
+    @DisplayName("Keyset Page Tests")
+    class KeysetPageTests {
+
+        @BeforeEach
+        void addUsers() {
+            for (int i = 0; i < 3; i++) {
+                entityManager.persist(User.createUser("page" + i + "@example.com", "password123"));
+            }
+            entityManager.flush();
+        }
+
+        @Test
+        @DisplayName("Should page by ID without overlap in both directions")
+        void shouldPageById() {
+            // When
+            List<UserSummary> first = userRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(3));
+            List<UserSummary> second = userRepository.findByIdGreaterThanOrderByIdAsc(
+                    first.get(2).id(), PageRequest.ofSize(3));
+            List<UserSummary> descending = userRepository.findByIdLessThanOrderByIdDesc(
+                    Long.MAX_VALUE, PageRequest.ofSize(5));
+
+            // Then
+            assertThat(first).hasSize(3);
+            assertThat(second).hasSize(2);
+            assertThat(second.get(0).id()).isGreaterThan(first.get(2).id());
+            assertThat(descending).extracting(UserSummary::id).isSortedAccordingTo(Comparator.reverseOrder());
+        }
+
+        @Test
+        @DisplayName("Should break creation time ties by ID so no user is skipped or repeated")
+        void shouldBreakCreatedAtTiesById() {
+            // Given
+            entityManager.getEntityManager()
+                    .createQuery("UPDATE User u SET u.createdAt = :createdAt")
+                    .setParameter("createdAt", LocalDateTime.of(2024, 1, 1, 12, 0))
+                    .executeUpdate();
+            entityManager.clear();
+
+            // When
+            List<UserSummary> first = userRepository.findAllByOrderByCreatedAtAscIdAsc(PageRequest.ofSize(2));
+            UserSummary last = first.get(1);
+            List<UserSummary> rest = userRepository.findPageCreatedAfter(
+                    last.createdAt(), last.id(), PageRequest.ofSize(10));
+            List<UserSummary> newestFirst = userRepository.findPageCreatedBefore(
+                    LocalDateTime.of(2024, 1, 1, 12, 0), Long.MAX_VALUE, PageRequest.ofSize(10));
+
+            // Then
+            assertThat(rest).hasSize(3);
+            assertThat(first).extracting(UserSummary::id).doesNotContainAnyElementsOf(
+                    rest.stream().map(UserSummary::id).toList());
+            assertThat(newestFirst).hasSize(5)
+                    .extracting(UserSummary::id).isSortedAccordingTo(Comparator.reverseOrder());
+        }
+    }
+
+    @Nested
+    @DisplayName("Summary Projection Tests")
+    class SummaryProjectionTests {
+
+        @Test
+        @DisplayName("Should map every listed column from the JPQL and native projections alike")
+        void shouldMapSummaryColumns() {
+            // When
+            List<UserSummary> byRole = userRepository.findSummariesByRole(Role.ROLE_ADMIN);
+            List<UserSummary> byId = userRepository.findSummariesByIdIn(List.of(testAdmin.getId()));
+
+            // Then
+            UserSummary expected = new UserSummary(testAdmin.getId(), "admin@example.com", Set.of(Role.ROLE_ADMIN),
+                    true, true, true, true, testAdmin.getCreatedAt(), testAdmin.getUpdatedAt());
+            assertThat(byRole).usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt", "updatedAt")
+                    .containsExactly(expected);
+            assertThat(byId).usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt", "updatedAt")
+                    .containsExactly(expected);
+            assertThat(byRole.get(0).createdAt()).isNotNull().isEqualTo(byId.get(0).createdAt());
+        }
+
+        @Test
+        @DisplayName("Should not load any entity into the persistence context")
+        void shouldNotManageEntities() {
+            // Given
+            entityManager.clear();
+            Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+            // When
+            userRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(10));
+            userRepository.findSummariesByRole(Role.ROLE_USER);
+            userRepository.findSummariesByIdIn(List.of(testUser.getId(), testAdmin.getId()));
+
+            // Then
+            assertThat(session.getStatistics().getEntityCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Email Index Tests")
+    class EmailIndexTests {
+
+        @Test
+        @DisplayName("Should keep the normalized email in step with the email")
+        void shouldMaintainNormalizedEmail() {
+            // Given
+            User mixed = entityManager.persistAndFlush(User.createUser("Mixed.Case@Example.COM", "password123"));
+
+            // When
+            mixed.setEmail("Renamed@Example.com");
+            entityManager.flush();
+
+            // Then
+            assertThat(jdbcTemplate.queryForObject("SELECT email_normalized FROM users WHERE id = ?",
+                    String.class, mixed.getId())).isEqualTo("renamed@example.com");
+        }
+
+        @Test
+        @DisplayName("Should reject emails that differ only in case")
+        void shouldRejectCaseVariantEmails() {
+            // When & Then
+            assertThatThrownBy(() -> entityManager.persistAndFlush(User.createUser("USER@example.com", "password123")))
+                    .isInstanceOf(PersistenceException.class)
+                    .hasStackTraceContaining(User.EMAIL_NORMALIZED_KEY.toUpperCase());
+        }
+
+        @Test
+        @DisplayName("Should look up emails with one probe of the normalized email unique index")
+        void shouldProbeUniqueIndex() {
+            // Given
+            entityManager.clear();
+            SqlRecorder.STATEMENTS.clear();
+
+            // When
+            userRepository.findByEmail("USER@example.com");
+            userRepository.existsByEmail("USER@example.com");
+
+            // Then
+            assertThat(SqlRecorder.STATEMENTS).hasSize(2).allSatisfy(sql -> assertThat(explain(sql))
+                    .containsIgnoringCase(User.EMAIL_NORMALIZED_KEY)
+                    .doesNotContainIgnoringCase("tableScan"));
+        }
+
+        /**
+         * H2's plan for a statement, with the email bound to its first parameter and 1 to any row limit.
+         */
+        private String explain(String sql) {
+            int parameters = (int) sql.chars().filter(c -> c == '?').count();
+            Object[] values = new Object[parameters];
+            Arrays.fill(values, 1);
+            values[0] = "user@example.com";
+            return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, values);
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate sends, so its plans can be checked with EXPLAIN.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains("email_normalized")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
 }
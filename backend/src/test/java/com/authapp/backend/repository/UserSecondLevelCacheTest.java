@@ -0,0 +1,215 @@
+package com.authapp.backend.repository;
+
+import com.authapp.backend.cache.UserCache;
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the Hibernate second-level, natural ID and query caches behind UserRepository.
+ * Each step commits in its own transaction, as requests do, instead of rolling back one test transaction.
+ */
+@DataJpaTest
+@Import({UserCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("User Second-Level Cache Tests")
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactions;
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transactions = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = transactions.execute(status -> userRepository.save(User.createUser("Cached@Example.com", "password123")));
+        cache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactions.executeWithoutResult(status -> userRepository.deleteAll());
+        cache().evictAllRegions();
+        userCache.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve a user by ID from the cache in later transactions")
+    void shouldServeByIdFromCache() {
+        // Given
+        inTransaction(() -> userRepository.findById(user.getId()));
+        statistics.clear();
+
+        // When
+        Optional<User> found = inTransaction(() -> userRepository.findById(user.getId()));
+
+        // Then
+        assertThat(found).get().extracting(User::getEmail).isEqualTo("Cached@Example.com");
+        assertThat(found.get().getRoles()).containsExactly(Role.ROLE_USER);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve an email through the natural ID cache in later transactions, ignoring case")
+    void shouldServeByEmailFromCache() {
+        // Given
+        inTransaction(() -> userRepository.findByEmail("cached@example.com"));
+        statistics.clear();
+
+        // When
+        Optional<User> found = inTransaction(() -> userRepository.findByEmail(" CACHED@example.COM "));
+
+        // Then
+        assertThat(found).get().extracting(User::getId).isEqualTo(user.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should follow an email change in the natural ID cache")
+    void shouldFollowEmailChange() {
+        // Given
+        inTransaction(() -> userRepository.findByEmail("cached@example.com"));
+
+        // When
+        transactions.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setEmail("renamed@example.com"));
+
+        // Then
+        assertThat(inTransaction(() -> userRepository.findByEmail("cached@example.com"))).isEmpty();
+        assertThat(inTransaction(() -> userRepository.findByEmail("renamed@example.com")))
+                .get().extracting(User::getId).isEqualTo(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should cache role counts until the users table changes")
+    void shouldCacheRoleCounts() {
+        // Given
+        inTransaction(() -> userRepository.countByRole(Role.ROLE_USER));
+        statistics.clear();
+
+        // When
+        Long cached = inTransaction(() -> userRepository.countByRole(Role.ROLE_USER));
+        long statementsWhenCached = statistics.getPrepareStatementCount();
+        transactions.executeWithoutResult(status ->
+                userRepository.save(User.createUser("second@example.com", "password123")));
+        Long recounted = inTransaction(() -> userRepository.countByRole(Role.ROLE_USER));
+
+        // Then
+        assertThat(cached).isEqualTo(1);
+        assertThat(statementsWhenCached).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(recounted).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict a user deleted by the native delete from every cache")
+    void shouldEvictDeletedUser() {
+        // Given
+        inTransaction(() -> userRepository.findById(user.getId()));
+        inTransaction(() -> userRepository.findByEmail("cached@example.com"));
+        inTransaction(() -> userRepository.countByRole(Role.ROLE_USER));
+
+        // When
+        Optional<Integer> deleted = inTransaction(() -> userRepository.deleteReturningRoleMask(user.getId()));
+
+        // Then
+        assertThat(deleted).contains(Role.ROLE_USER.getBit());
+        assertThat(inTransaction(() -> userRepository.findById(user.getId()))).isEmpty();
+        assertThat(inTransaction(() -> userRepository.findByEmail("cached@example.com"))).isEmpty();
+        assertThat(inTransaction(() -> userRepository.countByRole(Role.ROLE_USER))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep other users cached when one user is deleted")
+    void shouldKeepOtherUsersCachedOnDelete() {
+        // Given - both users are in the entity and natural ID caches
+        User other = transactions.execute(status ->
+                userRepository.save(User.createUser("other@example.com", "password123")));
+        inTransaction(() -> userRepository.findByEmail("cached@example.com"));
+        inTransaction(() -> userRepository.findByEmail("other@example.com"));
+
+        // When
+        inTransaction(() -> userRepository.deleteReturningRoleMask(user.getId()));
+        statistics.clear();
+        Optional<User> found = inTransaction(() -> userRepository.findByEmail("other@example.com"));
+
+        // Then
+        assertThat(found).get().extracting(User::getId).isEqualTo(other.getId());
+        assertThat(cache().containsEntity(User.class, other.getId())).isTrue();
+        assertThat(cache().containsEntity(User.class, user.getId())).isFalse();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict a user rewritten outside Hibernate from both caches through UserCache")
+    void shouldEvictBothCachesThroughUserCache() {
+        // Given - the user is in both caches when a JDBC write bypasses Hibernate
+        Supplier<Optional<User>> loader = () -> inTransaction(() -> userRepository.findById(user.getId()));
+        userCache.findById(user.getId(), loader);
+        assertThat(cache().containsEntity(User.class, user.getId())).isTrue();
+        jdbcTemplate.update("UPDATE users SET password = 'rewritten' WHERE id = ?", user.getId());
+
+        // When
+        userCache.evict(user.getId(), null);
+
+        // Then
+        assertThat(cache().containsEntity(User.class, user.getId())).isFalse();
+        assertThat(userCache.findById(user.getId(), loader)).get()
+                .extracting(User::getPassword).isEqualTo("rewritten");
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactions.execute(status -> work.get());
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,123 @@
+package com.authapp.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for EmailRadixTree.
+ */
+@DisplayName("EmailRadixTree Tests")
+class EmailRadixTreeTest {
+
+    private EmailRadixTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new EmailRadixTree();
+        tree.put(1L, "Alice@example.com");
+        tree.put(2L, "alicia@example.com");
+        tree.put(3L, "ali@example.org");
+        tree.put(4L, "bob@example.com");
+        tree.put(5L, "al@example.com");
+    }
+
+    @Nested
+    @DisplayName("Completion Tests")
+    class CompletionTests {
+
+        @Test
+        @DisplayName("Should complete a prefix in order, ignoring case")
+        void shouldCompletePrefixInOrder() {
+            // When & Then
+            assertThat(tree.complete("ALI", 10))
+                    .extracting(EmailRadixTree.Suggestion::email)
+                    .containsExactly("ali@example.org", "alice@example.com", "alicia@example.com");
+        }
+
+        @Test
+        @DisplayName("Should complete a prefix ending part-way along an edge")
+        void shouldCompleteInsideEdge() {
+            // When & Then
+            assertThat(tree.complete("alic", 10))
+                    .extracting(EmailRadixTree.Suggestion::userId)
+                    .containsExactly(1L, 2L);
+            assertThat(tree.complete("bob@ex", 10))
+                    .containsExactly(new EmailRadixTree.Suggestion(4L, "bob@example.com"));
+        }
+
+        @Test
+        @DisplayName("Should stop after the limit")
+        void shouldStopAtLimit() {
+            // When & Then
+            assertThat(tree.complete("a", 2))
+                    .extracting(EmailRadixTree.Suggestion::userId)
+                    .containsExactly(5L, 3L);
+            assertThat(tree.complete("a", 0)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return nothing for unknown prefixes")
+        void shouldMissUnknownPrefix() {
+            // When & Then
+            assertThat(tree.complete("carol", 10)).isEmpty();
+            assertThat(tree.complete("alix", 10)).isEmpty();
+            assertThat(tree.complete("alice@example.com.au", 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Maintenance Tests")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Should replace a user's previous email")
+        void shouldReplaceEmail() {
+            // When
+            tree.put(1L, "Zed@example.com");
+
+            // Then
+            assertThat(tree.complete("alice", 10)).isEmpty();
+            assertThat(tree.complete("zed", 10))
+                    .containsExactly(new EmailRadixTree.Suggestion(1L, "zed@example.com"));
+            assertThat(tree.size()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should drop removed users and merge the nodes they leave behind")
+        void shouldRemoveUser() {
+            // When
+            tree.remove(3L);
+            tree.remove(5L);
+
+            // Then
+            assertThat(tree.complete("al", 10))
+                    .extracting(EmailRadixTree.Suggestion::userId)
+                    .containsExactly(1L, 2L);
+            assertThat(tree.size()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should give memory back when emails are removed")
+        void shouldShrinkOnRemove() {
+            // Given
+            long before = tree.estimatedBytes();
+            IntStream.range(100, 1100).forEach(i -> tree.put(i, "bulk" + i + "@example.com"));
+            long grown = tree.estimatedBytes();
+
+            // When
+            IntStream.range(100, 1100).forEach(tree::remove);
+
+            // Then
+            assertThat(grown).isGreaterThan(before);
+            assertThat(tree.estimatedBytes()).isLessThanOrEqualTo(before);
+            assertThat(tree.complete("bulk", 10)).isEmpty();
+            assertThat(tree.complete("a", 10)).hasSize(4);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.authapp.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for EmailTrigramIndex.
+ */
+@DisplayName("EmailTrigramIndex Tests")
+class EmailTrigramIndexTest {
+
+    private EmailTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmailTrigramIndex();
+        index.put(1L, "Alice.Smith@example.com");
+        index.put(2L, "bob@smithfield.org");
+        index.put(3L, "jsmith@example.com");
+        index.put(4L, "smith@example.com");
+        index.put(5L, "carol@example.net");
+    }
+
+    @Nested
+    @DisplayName("Matching Tests")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should find every email containing the term, ignoring case")
+        void shouldFindSubstringIgnoringCase() {
+            // When
+            EmailTrigramIndex.Page page = index.search("SMITH", 0, 10);
+
+            // Then
+            assertThat(page.userIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+            assertThat(page.total()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should not match emails that contain the term's trigrams apart")
+        void shouldVerifyCandidates() {
+            // Given
+            index.put(6L, "abcxbcd@example.com");
+
+            // When
+            EmailTrigramIndex.Page page = index.search("abcd", 0, 10);
+
+            // Then
+            assertThat(page.userIds()).isEmpty();
+            assertThat(page.total()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should scan for terms shorter than a trigram")
+        void shouldScanShortTerms() {
+            // When
+            EmailTrigramIndex.Page page = index.search("@s", 0, 10);
+
+            // Then
+            assertThat(page.userIds()).containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a term with an unknown trigram or a blank term")
+        void shouldReturnNothingForUnknownTerm() {
+            // Then
+            assertThat(index.search("zzz", 0, 10).userIds()).isEmpty();
+            assertThat(index.search("  ", 0, 10).userIds()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Ranking Tests")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Should rank prefix matches, then word starts, then the rest")
+        void shouldRankByMatchPosition() {
+            // When
+            EmailTrigramIndex.Page page = index.search("smith", 0, 10);
+
+            // Then
+            // 4 starts with the term; 1 and 2 match after '.' and '@' (shorter first); 3 matches mid-word
+            assertThat(page.userIds()).containsExactly(4L, 2L, 1L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should page through ranked matches and report the total")
+        void shouldPageThroughMatches() {
+            // When
+            EmailTrigramIndex.Page first = index.search("smith", 0, 3);
+            EmailTrigramIndex.Page second = index.search("smith", 3, 3);
+            EmailTrigramIndex.Page beyond = index.search("smith", 9, 3);
+
+            // Then
+            assertThat(first.userIds()).containsExactly(4L, 2L, 1L);
+            assertThat(second.userIds()).containsExactly(3L);
+            assertThat(beyond.userIds()).isEmpty();
+            assertThat(first.total()).isEqualTo(4);
+            assertThat(beyond.total()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Maintenance Tests")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Should replace a user's previous email")
+        void shouldReplaceEmail() {
+            // When
+            index.put(4L, "renamed@example.com");
+
+            // Then
+            assertThat(index.search("smith", 0, 10).userIds()).doesNotContain(4L);
+            assertThat(index.search("renamed", 0, 10).userIds()).containsExactly(4L);
+            assertThat(index.size()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should drop removed users")
+        void shouldRemoveUser() {
+            // When
+            index.remove(2L);
+
+            // Then
+            assertThat(index.search("smith", 0, 10).userIds()).containsExactly(4L, 1L, 3L);
+            assertThat(index.size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should keep answering correctly after compacting tombstones")
+        void shouldCompact() {
+            // Given
+            IntStream.range(100, 5100).forEach(i -> index.put(i, "bulk" + i + "@example.com"));
+
+            // When
+            IntStream.range(100, 4900).forEach(index::remove);
+
+            // Then
+            assertThat(index.size()).isEqualTo(205);
+            assertThat(index.search("bulk", 0, 500).total()).isEqualTo(200);
+            assertThat(index.search("bulk4999", 0, 10).userIds()).containsExactly(4999L);
+            assertThat(index.search("smith", 0, 10).userIds()).containsExactly(4L, 2L, 1L, 3L);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.authapp.backend.search;
+
+import com.authapp.backend.service.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserEmailAutocomplete.
+ * The building query is stubbed to return one user and to block until released, so a commit can be
+ * delivered while the tree is being built.
+ */
+@DisplayName("UserEmailAutocomplete Tests")
+class UserEmailAutocompleteTest {
+
+    private CountDownLatch building;
+    private CountDownLatch release;
+    private UserEmailAutocomplete autocomplete;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        building = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(1L);
+        when(row.getString(2)).thenReturn("alice@example.com");
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            building.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        autocomplete = new UserEmailAutocomplete(jdbcTemplate, new SimpleMeterRegistry());
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should build the tree on first use")
+    void shouldBuildOnFirstUse() {
+        // Given
+        release.countDown();
+
+        // When
+        List<EmailRadixTree.Suggestion> suggestions = autocomplete.suggest("ali", 10);
+
+        // Then
+        assertThat(suggestions).containsExactly(new EmailRadixTree.Suggestion(1L, "alice@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should not wait for a build in progress and replay its commit onto the built tree")
+    void shouldBufferCommitsDuringBuild() throws Exception {
+        // Given - a lookup is building the tree
+        Future<List<EmailRadixTree.Suggestion>> firstLookup = callers.submit(() -> autocomplete.suggest("ali", 10));
+        assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - commits arrive while the query is still running
+        callers.submit(() -> {
+            autocomplete.onUserChanged(UserChangedEvent.saved(2L, "alina@example.com"));
+            autocomplete.onUserChanged(UserChangedEvent.deleted(1L));
+        }).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        // Then
+        assertThat(firstLookup.get(5, TimeUnit.SECONDS))
+                .containsExactly(new EmailRadixTree.Suggestion(2L, "alina@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should replay buffered commits in order over the rows the build read")
+    void shouldReplayBufferedCommitsInOrder() throws Exception {
+        // Given - a lookup is building the tree
+        Future<List<EmailRadixTree.Suggestion>> firstLookup = callers.submit(() -> autocomplete.suggest("ali", 10));
+        assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When - a user is created and deleted, and the one the query reads is renamed
+        callers.submit(() -> {
+            autocomplete.onUserChanged(UserChangedEvent.saved(2L, "alina@example.com"));
+            autocomplete.onUserChanged(UserChangedEvent.deleted(2L));
+            autocomplete.onUserChanged(UserChangedEvent.saved(1L, "alicia@example.com"));
+        }).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        firstLookup.get(5, TimeUnit.SECONDS);
+        autocomplete.onUserChanged(UserChangedEvent.saved(2L, "alison@example.com"));
+
+        // Then
+        assertThat(autocomplete.suggest("ali", 10)).containsExactly(
+                new EmailRadixTree.Suggestion(1L, "alicia@example.com"),
+                new EmailRadixTree.Suggestion(2L, "alison@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should ignore commits before the tree is first used")
+    void shouldIgnoreCommitsBeforeFirstUse() {
+        // Given
+        autocomplete.onUserChanged(UserChangedEvent.saved(2L, "alina@example.com"));
+        release.countDown();
+
+        // When & Then - the build reads committed rows itself
+        assertThat(autocomplete.suggest("ali", 10))
+                .containsExactly(new EmailRadixTree.Suggestion(1L, "alice@example.com"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.authapp.backend.security;
+
+import com.authapp.backend.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter.
+ */
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyThatIsLongEnoughForHmacSha256";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, 100, Clock.systemUTC());
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, 100, Duration.ofHours(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a bearer token with authorities from its roles")
+    void shouldAuthenticateBearerToken() throws Exception {
+        // Given
+        String token = jwtTokenProvider.issue(7L, "admin@example.com", Set.of(Role.ROLE_ADMIN, Role.ROLE_USER));
+
+        // When
+        Authentication authentication = filterWith("Bearer " + token);
+
+        // Then
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(((TokenPrincipal) authentication.getPrincipal()).getUserId()).isEqualTo(7L);
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(meterRegistry.get("auth.token.authentication").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached authentication for repeat requests with the same token")
+    void shouldReuseCachedAuthentication() throws Exception {
+        // Given
+        String token = jwtTokenProvider.issue(7L, "user@example.com", Set.of(Role.ROLE_USER));
+        String other = jwtTokenProvider.issue(7L, "user@example.com", Set.of(Role.ROLE_USER));
+
+        // When
+        Authentication first = filterWith("Bearer " + token);
+        Authentication second = filterWith("Bearer " + token);
+        Authentication third = filterWith("Bearer " + other);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should leave the request anonymous without a valid bearer token")
+    void shouldLeaveRequestAnonymous() throws Exception {
+        // When & Then
+        assertThat(filterWith(null)).isNull();
+        assertThat(filterWith("Basic dXNlcjpwYXNz")).isNull();
+        assertThat(filterWith("Bearer not-a-jwt")).isNull();
+        assertThat(meterRegistry.get("auth.token.authentication").timer().count()).isEqualTo(1);
+    }
+
+    /**
+     * Run the filter and capture the authentication the rest of the chain would see.
+     */
+    private Authentication filterWith(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test/users");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+        return seen.get();
+    }
+}
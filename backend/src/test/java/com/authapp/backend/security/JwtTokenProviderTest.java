@@ -0,0 +1,208 @@
+package com.authapp.backend.security;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.service.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JwtTokenProvider.
+ */
+@DisplayName("JwtTokenProvider Tests")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyThatIsLongEnoughForHmacSha256";
+    private static final long EXPIRATION = 3_600_000L;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, EXPIRATION, 100, Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("Should verify an issued token and expose its claims")
+    void shouldVerifyIssuedToken() {
+        // Given
+        String token = jwtTokenProvider.issue(7L, "admin@example.com", Set.of(Role.ROLE_ADMIN, Role.ROLE_USER));
+
+        // When
+        Optional<TokenPrincipal> principal = jwtTokenProvider.verify(token);
+
+        // Then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getUserId()).isEqualTo(7L);
+        assertThat(principal.get().getEmail()).isEqualTo("admin@example.com");
+        assertThat(principal.get().getRoles()).containsExactlyInAnyOrder(Role.ROLE_ADMIN, Role.ROLE_USER);
+        assertThat(principal.get().getTokenId()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should return the cached principal on repeated verification")
+    void shouldReturnCachedPrincipal() {
+        // Given
+        String token = jwtTokenProvider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+
+        // When
+        TokenPrincipal first = jwtTokenProvider.verify(token).orElseThrow();
+        TokenPrincipal second = jwtTokenProvider.verify(token).orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token")
+    void shouldRejectTamperedToken() {
+        // Given
+        String token = jwtTokenProvider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Then
+        assertThat(jwtTokenProvider.verify(tampered)).isEmpty();
+        assertThat(jwtTokenProvider.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtTokenProvider.verify(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void shouldRejectForeignToken() {
+        // Given
+        JwtTokenProvider other = new JwtTokenProvider("anotherSecretKeyThatIsLongEnoughForHmac", EXPIRATION, 100, Clock.systemUTC());
+        String token = other.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+
+        // Then
+        assertThat(jwtTokenProvider.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token even when cached")
+    void shouldRejectExpiredToken() {
+        // Given - the token's verification is cached
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION, 100, clock);
+        String token = provider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+        assertThat(provider.verify(token)).isPresent();
+
+        // When
+        clock.advance(EXPIRATION + 1_000L);
+
+        // Then
+        assertThat(provider.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token, including its cached verification")
+    void shouldRejectRevokedToken() {
+        // Given
+        String token = jwtTokenProvider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+        String other = jwtTokenProvider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+        assertThat(jwtTokenProvider.verify(token)).isPresent();
+
+        // When
+        boolean revoked = jwtTokenProvider.revoke(token);
+
+        // Then
+        assertThat(revoked).isTrue();
+        assertThat(jwtTokenProvider.verify(token)).isEmpty();
+        assertThat(jwtTokenProvider.revoke(token)).isFalse();
+        assertThat(jwtTokenProvider.verify(other)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject every earlier token of a user after revoking them, but not later ones")
+    void shouldRevokeTokensIssuedBefore() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00.250Z").toEpochMilli());
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION, 100, clock);
+        String earlier = provider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+        String otherUser = provider.issue(2L, "other@example.com", Set.of(Role.ROLE_USER));
+        clock.advance(5_000L);
+
+        // When
+        provider.revokeIssuedBefore(1L);
+        String sameSecond = provider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+        clock.advance(1_000L);
+        String later = provider.issue(1L, "user@example.com", Set.of(Role.ROLE_USER));
+
+        // Then
+        assertThat(provider.verify(earlier)).isEmpty();
+        assertThat(provider.verify(otherUser)).isPresent();
+        assertThat(provider.verify(sameSecond)).isPresent();
+        assertThat(provider.verify(later)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should revoke the tokens of a deleted user")
+    void shouldRevokeTokensOfDeletedUser() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION, 100, clock);
+        String token = provider.issue(1L, "user@example.com", Set.of(Role.ROLE_ADMIN));
+        clock.advance(1_000L);
+
+        // When
+        provider.onUserChanged(UserChangedEvent.deleted(1L));
+
+        // Then
+        assertThat(provider.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve bearer tokens from the Authorization header")
+    void shouldResolveBearerToken() {
+        // Then
+        assertThat(JwtTokenProvider.resolveBearer("Bearer abc.def.ghi")).isEqualTo("abc.def.ghi");
+        assertThat(JwtTokenProvider.resolveBearer("bearer abc")).isEqualTo("abc");
+        assertThat(JwtTokenProvider.resolveBearer("Basic dXNlcjpwYXNz")).isNull();
+        assertThat(JwtTokenProvider.resolveBearer("Bearer ")).isNull();
+        assertThat(JwtTokenProvider.resolveBearer(null)).isNull();
+    }
+
+    /**
+     * Clock whose time only moves when the test says so.
+     */
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
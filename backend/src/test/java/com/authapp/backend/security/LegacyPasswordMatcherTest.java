@@ -0,0 +1,47 @@
+package com.authapp.backend.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LegacyPasswordMatcher.
+ */
+@DisplayName("LegacyPasswordMatcher Tests")
+class LegacyPasswordMatcherTest {
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final LegacyPasswordMatcher matcher = new LegacyPasswordMatcher(bcrypt);
+
+    @Test
+    @DisplayName("Should encode as BCrypt instead of refusing")
+    void shouldEncodeAsBCrypt() {
+        // When
+        String encoded = matcher.encode("password123");
+
+        // Then
+        assertThat(LegacyPasswordMatcher.isBCryptHash(encoded)).isTrue();
+        assertThat(matcher.matches("password123", encoded)).isTrue();
+        assertThat(matcher.matches("wrong", encoded)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match raw BCrypt hashes and legacy plaintext behind the delegating encoder")
+    void shouldMatchUnprefixedPasswords() {
+        // Given
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(matcher);
+
+        // When & Then
+        assertThat(encoder.matches("legacy123", bcrypt.encode("legacy123"))).isTrue();
+        assertThat(encoder.matches("plain123", "plain123")).isTrue();
+        assertThat(encoder.matches("plain123", "plain124")).isFalse();
+        assertThat(encoder.matches("plain123", null)).isFalse();
+        assertThat(encoder.upgradeEncoding("plain123")).isTrue();
+    }
+}
@@ -0,0 +1,132 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for LastLoginTracker.
+ * Runs outside a test-managed transaction so each flush really commits.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("LastLoginTracker Integration Tests")
+class LastLoginTrackerTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LastLoginTracker tracker;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LastLoginTracker(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(), 3);
+        alice = userRepository.save(User.createUser("alice@example.com", "password123"));
+        bob = userRepository.save(User.createUser("bob@example.com", "password123"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        tracker.shutdown();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated logins into one row holding the latest time")
+    void shouldCoalesceLogins() {
+        // Given
+        tracker.record(alice.getId(), NOON.plusMinutes(5));
+        tracker.record(alice.getId(), NOON);
+        tracker.record(bob.getId(), NOON);
+
+        // When
+        int flushed = tracker.flush();
+
+        // Then
+        assertThat(flushed).isEqualTo(2);
+        assertThat(lastLoginOf(alice)).isEqualTo(NOON.plusMinutes(5));
+        assertThat(lastLoginOf(bob)).isEqualTo(NOON);
+        assertThat(tracker.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never move a stored last login backwards")
+    void shouldKeepLatestStoredTime() {
+        // Given
+        tracker.record(alice.getId(), NOON);
+        tracker.flush();
+
+        // When
+        tracker.record(alice.getId(), NOON.minusHours(1));
+        tracker.flush();
+
+        // Then
+        assertThat(lastLoginOf(alice)).isEqualTo(NOON);
+    }
+
+    @Test
+    @DisplayName("Should flush in the background once enough users are waiting")
+    void shouldFlushWhenFull() throws InterruptedException {
+        // Given
+        User carol = userRepository.save(User.createUser("carol@example.com", "password123"));
+
+        // When
+        tracker.record(alice.getId(), NOON);
+        tracker.record(bob.getId(), NOON);
+        tracker.record(carol.getId(), NOON);
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (lastLoginOf(carol) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(lastLoginOf(alice)).isEqualTo(NOON);
+        assertThat(lastLoginOf(carol)).isEqualTo(NOON);
+    }
+
+    @Test
+    @DisplayName("Should write buffered times on shutdown and leave entity saves from overwriting them")
+    void shouldFlushOnShutdown() throws InterruptedException {
+        // Given
+        tracker.record(alice.getId(), NOON);
+
+        // When
+        tracker.shutdown();
+        User stale = userRepository.findById(alice.getId()).orElseThrow();
+        stale.setLastLoginAt(null);
+        userRepository.save(stale);
+
+        // Then
+        assertThat(lastLoginOf(alice)).isEqualTo(NOON);
+        assertThat(lastLoginOf(bob)).isNull();
+    }
+
+    private LocalDateTime lastLoginOf(User user) {
+        return jdbcTemplate.queryForObject("SELECT last_login_at FROM users WHERE id = ?",
+                LocalDateTime.class, user.getId());
+    }
+}
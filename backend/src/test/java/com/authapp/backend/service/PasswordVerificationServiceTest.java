@@ -0,0 +1,110 @@
+package com.authapp.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordVerificationService.
+ * Uses an encoder that blocks until released to saturate the executor deterministically.
+ */
+@DisplayName("PasswordVerificationService Tests")
+class PasswordVerificationServiceTest {
+
+    private CountDownLatch release;
+    private CountDownLatch started;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordVerificationService service;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PasswordVerificationService(new BlockingEncoder(), meterRegistry, 1, 1, 5_000L, 2L);
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should verify and record metrics")
+    void shouldVerifyAndRecordMetrics() {
+        // Given
+        release.countDown();
+
+        // When
+        boolean matches = service.matches("secret", "secret");
+        boolean mismatch = service.matches("secret", "other");
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(mismatch).isFalse();
+        assertThat(meterRegistry.get("auth.password.verify").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.password.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the queue is full")
+    void shouldFailFastWhenQueueIsFull() throws InterruptedException {
+        // Given - one task running, one queued
+        callers.submit(() -> service.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> service.matches("b", "b"));
+        waitForQueueDepth(1);
+
+        // When & Then
+        assertThatThrownBy(() -> service.matches("c", "c"))
+                .isInstanceOf(PasswordVerificationOverloadedException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (meterRegistry.get("auth.password.queue.depth").gauge().value() < depth) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Queue never reached depth " + depth);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Plain-text encoder that holds every call until the test releases it.
+     */
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
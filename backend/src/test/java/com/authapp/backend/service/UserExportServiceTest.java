@@ -0,0 +1,117 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for UserExportService.
+ * Uses a tiny clear interval so the persistence context is cleared several times mid-stream.
+ */
+@DataJpaTest
+@Import(UserExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "app.user-export.clear-interval=2",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("UserExportService Integration Tests")
+class UserExportServiceTest {
+
+    private static final int USERS = 7;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS - 1; i++) {
+            entityManager.persist(User.createUser("export" + i + "@example.com", "password123"));
+        }
+        User quoted = User.createAdmin("\"quoted,admin\"@example.com", "password123");
+        quoted.addRole(Role.ROLE_USER);
+        entityManager.persist(quoted);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should stream every user as one JSON object per line in a single query")
+    void shouldExportNdjson() throws Exception {
+        // Given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = userExportService.export(UserFileFormat.NDJSON, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(written).isEqualTo(USERS);
+        assertThat(lines).hasSize(USERS);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("email").asText()).isEqualTo("export0@example.com");
+        assertThat(first.get("roles").get(0).asText()).isEqualTo("ROLE_USER");
+        assertThat(first.has("password")).isFalse();
+        assertThat(objectMapper.readTree(lines.get(USERS - 1)).get("roles")).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream users as CSV with a header and quoted fields")
+    void shouldExportCsv() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        userExportService.export(UserFileFormat.CSV, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(USERS + 1);
+        assertThat(lines.get(0)).isEqualTo(UserExportService.CSV_HEADER);
+        assertThat(lines.get(USERS)).contains(",\"\"\"quoted,admin\"\"@example.com\",ROLE_ADMIN;ROLE_USER,true,");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats")
+    void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> UserFileFormat.of("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(UserFileFormat.of("CSV")).isEqualTo(UserFileFormat.CSV);
+    }
+}
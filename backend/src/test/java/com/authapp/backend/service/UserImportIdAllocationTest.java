@@ -0,0 +1,76 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.cache.UserCounters;
+import com.authapp.backend.config.PasswordEncoderConfig;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ID allocation of UserImportService on an empty schema whose user sequence has never been used.
+ * Runs in its own context, so neither JPA nor another test has drawn from the sequence first.
+ */
+@DataJpaTest
+@Import({UserImportService.class, PasswordEncoderConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = "app.password.bcrypt.strength=4")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+@DisplayName("UserImportService ID Allocation Tests")
+class UserImportIdAllocationTest {
+
+    private static final String HASH = "{bcrypt}$2a$04$abcdefghijklmnopqrstuuJqV1mtvT1y0mE7vM2PvE0cSMeSd1Z8S";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserCounters userCounters;
+
+    @Test
+    @DisplayName("Should start a fresh sequence at 1 and leave JPA a disjoint block")
+    void shouldAllocateFromFreshSequence() throws Exception {
+        // Given
+        assertThat(userRepository.count()).isZero();
+        String upload = """
+                {"email":"first1@example.com","password":"%1$s"}
+                {"email":"first2@example.com","password":"%1$s"}
+                {"email":"first3@example.com","password":"%1$s"}
+                """.formatted(HASH);
+
+        // When
+        userImportService.importUsers(UserFileFormat.NDJSON,
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)));
+        User saved = userRepository.save(User.createUser("jpa@example.com", HASH));
+
+        // Then
+        List<Long> imported = userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("first"))
+                .map(User::getId)
+                .sorted()
+                .toList();
+        assertThat(imported).containsExactly(1L, 2L, 3L);
+        assertThat(saved.getId()).isGreaterThan(User.ID_ALLOCATION_SIZE + 1L);
+    }
+}
@@ -0,0 +1,226 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.cache.UserCounters;
+import com.authapp.backend.dto.UserImportResultDto;
+import com.authapp.backend.entity.Role;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.config.PasswordEncoderConfig;
+import com.authapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for UserImportService.
+ * Runs outside a test-managed transaction with a tiny chunk size so several chunks really commit.
+ */
+@DataJpaTest
+@Import({UserImportService.class, PasswordEncoderConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {"app.user-import.chunk-size=3", "app.password.bcrypt.strength=4"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@DisplayName("UserImportService Integration Tests")
+class UserImportServiceTest {
+
+    private static final String HASH = "{bcrypt}$2a$04$abcdefghijklmnopqrstuuJqV1mtvT1y0mE7vM2PvE0cSMeSd1Z8S";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private UserCounters userCounters;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(User.createUser("existing@example.com", HASH));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows and count duplicates, existing and invalid rows")
+    void shouldImportNdjson() throws Exception {
+        // Given
+        String upload = """
+                {"email":"a@example.com","password":"%1$s","roles":["ROLE_ADMIN","USER"]}
+                {"email":"b@example.com","password":"%1$s"}
+                {"email":"a@example.com","password":"%1$s"}
+                {"email":"existing@example.com","password":"%1$s"}
+                {"email":"not-an-email","password":"%1$s"}
+                {"email":"c@example.com","password":"%1$s","id":99,"enabled":true}
+                {"email":"d@example.com","password":"%1$s"}
+                {broken
+                """.formatted(HASH);
+
+        // When
+        UserImportResultDto result = userImportService.importUsers(UserFileFormat.NDJSON, stream(upload));
+
+        // Then
+        assertThat(result.getReceived()).isEqualTo(8);
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(result.getExisting()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(2);
+        assertThat(result.getErrors()).hasSize(2).first().asString().startsWith("line 5:");
+        User admin = userRepository.findByEmail("a@example.com").orElseThrow();
+        assertThat(admin.getRoles()).containsExactlyInAnyOrder(Role.ROLE_ADMIN, Role.ROLE_USER);
+        assertThat(admin.getCreatedAt()).isNotNull();
+        assertThat(userRepository.findByEmail("b@example.com").orElseThrow().getRoles())
+                .containsExactly(Role.ROLE_USER);
+        // One counter update per committed chunk, covering only the rows it inserted
+        verify(userCounters, times(2)).usersCreated(argThat(roles -> roles.size() == 2));
+        assertThat(events.stream(UserChangedEvent.class).map(UserChangedEvent::email))
+                .containsExactly("a@example.com", "b@example.com", "c@example.com", "d@example.com");
+        assertThat(admin.getPassword()).isEqualTo(HASH);
+    }
+
+    @Test
+    @DisplayName("Should share the ID sequence with JPA inserts")
+    void shouldShareIdSequenceWithJpa() throws Exception {
+        // Given
+        userImportService.importUsers(UserFileFormat.NDJSON, stream("""
+                {"email":"imported1@example.com","password":"%1$s"}
+                {"email":"imported2@example.com","password":"%1$s"}
+                """.formatted(HASH)));
+
+        // When
+        User saved = userRepository.save(User.createUser("saved@example.com", HASH));
+        userImportService.importUsers(UserFileFormat.NDJSON, stream("""
+                {"email":"imported3@example.com","password":"%s"}
+                """.formatted(HASH)));
+
+        // Then
+        List<Long> ids = userRepository.findAll().stream().map(User::getId).toList();
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+        assertThat(saved.getId()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should import CSV with quoted fields and hash plaintext passwords before inserting them")
+    void shouldImportCsv() throws Exception {
+        // Given
+        String upload = """
+                email,password,roles
+                "quoted.user@example.com",plainPassword,"ROLE_USER;ROLE_ADMIN"
+                csv@example.com,%s,
+                brace@example.com,{notAnId}secret,
+                bad@example.com,short,
+                "comma,user@example.com",password123,
+                """.formatted(HASH);
+
+        // When
+        UserImportResultDto result = userImportService.importUsers(UserFileFormat.CSV, stream(upload));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(3);
+        // Rejected by the same constraints as POST /test/users: a short password and an address @Email refuses
+        assertThat(result.getInvalid()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(
+                "line 5: Password must be between 6 and 120 characters",
+                "line 6: Email should be valid");
+        assertThat(userRepository.findByEmail("comma,user@example.com")).isEmpty();
+        User quoted = userRepository.findByEmail("quoted.user@example.com").orElseThrow();
+        assertThat(quoted.getPassword()).startsWith("{bcrypt}").isNotEqualTo("plainPassword");
+        assertThat(passwordEncoder.matches("plainPassword", quoted.getPassword())).isTrue();
+        assertThat(quoted.getRoles()).containsExactlyInAnyOrder(Role.ROLE_USER, Role.ROLE_ADMIN);
+        assertThat(userRepository.findByEmail("csv@example.com").orElseThrow().getPassword()).isEqualTo(HASH);
+        // A plaintext that looks like an {id} prefix is still hashed
+        String brace = userRepository.findByEmail("brace@example.com").orElseThrow().getPassword();
+        assertThat(passwordEncoder.matches("{notAnId}secret", brace)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should retry a chunk without an email registered after the existence check")
+    void shouldRetryChunkAfterConcurrentRegistration() throws Exception {
+        // Given - the first existence check misses existing@example.com, as if it registered just after
+        doReturn(List.of()).doCallRealMethod()
+                .when(jdbcTemplate).queryForList(startsWith("SELECT email_normalized"), eq(String.class), any(Object[].class));
+
+        // When
+        UserImportResultDto result = userImportService.importUsers(UserFileFormat.NDJSON, stream("""
+                {"email":"x@example.com","password":"%1$s"}
+                {"email":"existing@example.com","password":"%1$s"}
+                {"email":"y@example.com","password":"%1$s"}
+                """.formatted(HASH)));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getExisting()).isEqualTo(1);
+        assertThat(result.getFailed()).isZero();
+        assertThat(userRepository.findByEmail("x@example.com")).isPresent();
+        assertThat(userRepository.findByEmail("y@example.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should fall back to row-by-row inserts when the retry fails too")
+    void shouldInsertRowByRowAfterSecondFailure() throws Exception {
+        // Given - both existence checks miss existing@example.com
+        doReturn(List.of()).doReturn(List.of()).doCallRealMethod()
+                .when(jdbcTemplate).queryForList(startsWith("SELECT email_normalized"), eq(String.class), any(Object[].class));
+
+        // When
+        UserImportResultDto result = userImportService.importUsers(UserFileFormat.NDJSON, stream("""
+                {"email":"x@example.com","password":"%1$s"}
+                {"email":"existing@example.com","password":"%1$s"}
+                {"email":"y@example.com","password":"%1$s"}
+                """.formatted(HASH)));
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().asString().startsWith("existing@example.com:");
+        assertThat(userRepository.findByEmail("x@example.com")).isPresent();
+        assertThat(userRepository.findByEmail("y@example.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV upload without an email column")
+    void shouldRejectCsvWithoutEmailColumn() {
+        assertThatThrownBy(() -> userImportService.importUsers(UserFileFormat.CSV, stream("name,password\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package com.authapp.backend.service;
+
+import com.authapp.backend.cache.UserCache;
+import com.authapp.backend.cache.UserCounters;
+import com.authapp.backend.entity.User;
+import com.authapp.backend.repository.UserRepository;
+import com.authapp.backend.search.UserEmailSearch;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests counting the SQL statements UserService sends for creates and deletes.
+ */
+@DataJpaTest
+@Import(UserService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("UserService Statement Count Tests")
+class UserServiceStatementCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private UserCounters userCounters;
+
+    @MockBean
+    private UserEmailSearch userEmailSearch;
+
+    private Statistics statistics;
+    private User existing;
+
+    @BeforeEach
+    void setUp() {
+        // Also draws the first block of pooled IDs, so later inserts need no sequence call
+        existing = userService.createUser(User.createUser("existing@example.com", "password123"));
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should create a user with a single insert")
+    void shouldCreateWithOneStatement() {
+        // When
+        User created = userService.createUser(User.createUser("created@example.com", "password123"));
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(created.getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate email, in any case, with the insert alone")
+    void shouldRejectDuplicateWithOneStatement() {
+        // When & Then
+        assertThatThrownBy(() -> userService.createUser(User.createUser("EXISTING@example.com", "password123")))
+                .isInstanceOf(DuplicateEmailException.class)
+                .hasMessage("User with email EXISTING@example.com already exists");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete a user with a single statement")
+    void shouldDeleteWithOneStatement() {
+        // When
+        userService.deleteUser(existing.getId());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(userRepository.existsById(existing.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report a missing user after a single statement")
+    void shouldReportMissingUserWithOneStatement() {
+        // When & Then
+        assertThatThrownBy(() -> userService.deleteUser(existing.getId() + 1_000))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("not found");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -1,24 +1,46 @@
 package com.authapp.backend.service;
 
+import com.authapp.backend.cache.UserCache;
+import com.authapp.backend.cache.UserCounters;
 import com.authapp.backend.entity.Role;
 import com.authapp.backend.entity.User;
 import com.authapp.backend.repository.UserRepository;
+import com.authapp.backend.repository.UserSummary;
+import com.authapp.backend.search.EmailTrigramIndex;
+import com.authapp.backend.search.UserEmailSearch;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,14 +54,31 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    // A real cache rather than a spy: a spy rewrites the stack trace of the exception shared between
+    // coalesced callers on every thread at once
+    private final UserCache userCache = new UserCache(mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS),
+            100, 60, new SimpleMeterRegistry());
+
+    @Mock
+    private UserCounters userCounters;
+
+    @Mock
+    private UserEmailSearch userEmailSearch;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserService userService;
 
     private User testUser;
     private User testAdmin;
+    private UserSummary userSummary;
+    private UserSummary adminSummary;
 
     @BeforeEach
     void setUp() {
+        userService = new UserService(userRepository, userCache, userCounters, userEmailSearch, eventPublisher);
+
         testUser = User.builder()
                 .id(1L)
                 .email("user@example.com")
@@ -53,6 +92,15 @@ class UserServiceTest {
                 .password("adminPassword")
                 .build();
         testAdmin.addRole(Role.ROLE_ADMIN);
+
+        userSummary = summaryOf(testUser);
+        adminSummary = summaryOf(testAdmin);
+    }
+
+    private static UserSummary summaryOf(User user) {
+        return new UserSummary(user.getId(), user.getEmail(), user.getRoles(), user.getEnabled(),
+                user.getAccountNonExpired(), user.getAccountNonLocked(), user.getCredentialsNonExpired(),
+                user.getCreatedAt(), user.getUpdatedAt());
     }
 
     @Nested
@@ -63,8 +111,7 @@ class UserServiceTest {
         @DisplayName("Should create user successfully")
         void shouldCreateUserSuccessfully() {
             // Given
-            when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(false);
-            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
             // When
             User result = userService.createUser(testUser);
@@ -72,23 +119,43 @@ class UserServiceTest {
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getEmail()).isEqualTo("user@example.com");
-            verify(userRepository).existsByEmail("user@example.com");
-            verify(userRepository).save(testUser);
+            verify(userRepository).saveAndFlush(testUser);
+            verify(userRepository, never()).existsByEmail(anyString());
+            verify(userCounters).userCreated(Set.of(Role.ROLE_USER));
+            verify(eventPublisher).publishEvent(UserChangedEvent.saved(1L, "user@example.com"));
         }
 
         @Test
         @DisplayName("Should throw exception when user already exists")
         void shouldThrowExceptionWhenUserAlreadyExists() {
             // Given
-            when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(true);
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(violationOf("PUBLIC.UK_USERS_EMAIL_NORMALIZED_INDEX_4"));
 
             // When & Then
             assertThatThrownBy(() -> userService.createUser(testUser))
-                    .isInstanceOf(RuntimeException.class)
+                    .isInstanceOf(DuplicateEmailException.class)
                     .hasMessage("User with email user@example.com already exists");
 
-            verify(userRepository).existsByEmail("user@example.com");
-            verify(userRepository, never()).save(any(User.class));
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should rethrow integrity violations other than a duplicate email")
+        void shouldRethrowOtherIntegrityViolations() {
+            // Given
+            DataIntegrityViolationException notNull = violationOf(null);
+            when(userRepository.saveAndFlush(any(User.class))).thenThrow(notNull);
+
+            // When & Then
+            assertThatThrownBy(() -> userService.createUser(testUser)).isSameAs(notNull);
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        private DataIntegrityViolationException violationOf(String constraintName) {
+            SQLException cause = new SQLException("integrity constraint violated", "23000");
+            return new DataIntegrityViolationException("could not execute statement",
+                    new ConstraintViolationException("could not execute statement", cause, constraintName));
         }
     }
 
@@ -174,16 +241,16 @@ class UserServiceTest {
         @DisplayName("Should find users by role")
         void shouldFindUsersByRole() {
             // Given
-            List<User> adminUsers = List.of(testAdmin);
-            when(userRepository.findByRole(Role.ROLE_ADMIN)).thenReturn(adminUsers);
+            when(userRepository.findSummariesByRole(Role.ROLE_ADMIN)).thenReturn(List.of(adminSummary));
 
             // When
-            List<User> result = userService.findByRole(Role.ROLE_ADMIN);
+            List<UserSummary> result = userService.findByRole(Role.ROLE_ADMIN);
 
             // Then
             assertThat(result).hasSize(1);
-            assertThat(result).containsExactly(testAdmin);
-            verify(userRepository).findByRole(Role.ROLE_ADMIN);
+            assertThat(result).containsExactly(adminSummary);
+            verify(userRepository).findSummariesByRole(Role.ROLE_ADMIN);
+            verify(userRepository, never()).findByRole(any());
         }
     }
 
@@ -195,7 +262,7 @@ class UserServiceTest {
         @DisplayName("Should update user successfully")
         void shouldUpdateUserSuccessfully() {
             // Given
-            when(userRepository.existsById(testUser.getId())).thenReturn(true);
+            when(userRepository.findRoleMaskById(testUser.getId())).thenReturn(Optional.of(Role.ROLE_USER.getBit()));
             when(userRepository.save(any(User.class))).thenReturn(testUser);
 
             // When
@@ -204,23 +271,74 @@ class UserServiceTest {
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(testUser.getId());
-            verify(userRepository).existsById(testUser.getId());
+            verify(userRepository).findRoleMaskById(testUser.getId());
             verify(userRepository).save(testUser);
         }
 
+        @Test
+        @DisplayName("Should record role changes against the stored roles")
+        void shouldRecordRoleChanges() {
+            // Given
+            when(userRepository.findRoleMaskById(testUser.getId())).thenReturn(Optional.of(Role.ROLE_USER.getBit()));
+            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            testUser.addRole(Role.ROLE_ADMIN);
+
+            // When
+            userService.updateUser(testUser);
+
+            // Then
+            verify(userCounters).rolesChanged(Set.of(Role.ROLE_USER), Set.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+        }
+
         @Test
         @DisplayName("Should throw exception when updating non-existent user")
         void shouldThrowExceptionWhenUpdatingNonExistentUser() {
             // Given
-            when(userRepository.existsById(testUser.getId())).thenReturn(false);
+            when(userRepository.findRoleMaskById(testUser.getId())).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> userService.updateUser(testUser))
                     .isInstanceOf(RuntimeException.class)
                     .hasMessage("User with ID 1 not found");
 
-            verify(userRepository).existsById(testUser.getId());
+            verify(userRepository).findRoleMaskById(testUser.getId());
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should change only the password of the stored user")
+        void shouldUpdateOnlyPassword() {
+            // Given - the stored user was disabled and promoted after the caller read it
+            User stored = User.builder().id(1L).email("user@example.com").password("oldHash")
+                    .roles(EnumSet.of(Role.ROLE_USER, Role.ROLE_ADMIN)).enabled(false).build();
+            when(userRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+            // When
+            boolean updated = userService.updatePassword(1L, "oldHash", "newHash");
+
+            // Then
+            assertThat(updated).isTrue();
+            assertThat(stored.getPassword()).isEqualTo("newHash");
+            assertThat(stored.getEnabled()).isFalse();
+            assertThat(stored.getRoles()).containsExactlyInAnyOrder(Role.ROLE_USER, Role.ROLE_ADMIN);
             verify(userRepository, never()).save(any(User.class));
+            verify(eventPublisher).publishEvent(UserChangedEvent.saved(1L, "user@example.com"));
+        }
+
+        @Test
+        @DisplayName("Should not update a password that changed since it was verified")
+        void shouldNotUpdateChangedPassword() {
+            // Given
+            User stored = User.builder().id(1L).email("user@example.com").password("otherHash").build();
+            when(userRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+            // When
+            boolean updated = userService.updatePassword(1L, "oldHash", "newHash");
+
+            // Then
+            assertThat(updated).isFalse();
+            assertThat(stored.getPassword()).isEqualTo("otherHash");
+            verifyNoInteractions(eventPublisher);
         }
     }
 
@@ -232,29 +350,30 @@ class UserServiceTest {
         @DisplayName("Should delete user successfully")
         void shouldDeleteUserSuccessfully() {
             // Given
-            when(userRepository.existsById(1L)).thenReturn(true);
+            when(userRepository.deleteReturningRoleMask(1L)).thenReturn(Optional.of(Role.ROLE_USER.getBit()));
 
             // When
             userService.deleteUser(1L);
 
             // Then
-            verify(userRepository).existsById(1L);
-            verify(userRepository).deleteById(1L);
+            verify(userRepository).deleteReturningRoleMask(1L);
+            verify(userRepository, never()).findRoleMaskById(anyLong());
+            verify(userCounters).userDeleted(Set.of(Role.ROLE_USER));
+            verify(eventPublisher).publishEvent(UserChangedEvent.deleted(1L));
         }
 
         @Test
         @DisplayName("Should throw exception when deleting non-existent user")
         void shouldThrowExceptionWhenDeletingNonExistentUser() {
             // Given
-            when(userRepository.existsById(999L)).thenReturn(false);
+            when(userRepository.deleteReturningRoleMask(999L)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> userService.deleteUser(999L))
                     .isInstanceOf(RuntimeException.class)
                     .hasMessage("User with ID 999 not found");
 
-            verify(userRepository).existsById(999L);
-            verify(userRepository, never()).deleteById(anyLong());
+            verify(userCounters, never()).userDeleted(any());
         }
     }
 
@@ -277,47 +396,298 @@ class UserServiceTest {
         }
 
         @Test
-        @DisplayName("Should get total user count")
+        @DisplayName("Should get total user count from the counters without querying")
         void shouldGetTotalUserCount() {
             // Given
-            when(userRepository.countTotalUsers()).thenReturn(5L);
+            when(userCounters.total()).thenReturn(5L);
 
             // When
             Long count = userService.getTotalUserCount();
 
             // Then
             assertThat(count).isEqualTo(5L);
-            verify(userRepository).countTotalUsers();
+            verifyNoInteractions(userRepository);
         }
 
         @Test
-        @DisplayName("Should get user count by role")
+        @DisplayName("Should get user count by role from the counters without querying")
         void shouldGetUserCountByRole() {
             // Given
-            when(userRepository.countByRole(Role.ROLE_ADMIN)).thenReturn(2L);
+            when(userCounters.count(Role.ROLE_ADMIN)).thenReturn(2L);
 
             // When
             Long count = userService.getUserCountByRole(Role.ROLE_ADMIN);
 
             // Then
             assertThat(count).isEqualTo(2L);
-            verify(userRepository).countByRole(Role.ROLE_ADMIN);
+            verifyNoInteractions(userRepository);
         }
 
         @Test
-        @DisplayName("Should search users by email")
+        @DisplayName("Should search users by email in index rank order")
         void shouldSearchUsersByEmail() {
             // Given
-            List<User> users = List.of(testUser);
-            when(userRepository.findByEmailContainingIgnoreCase("user")).thenReturn(users);
+            when(userEmailSearch.search("example", 20, 20)).thenReturn(new EmailTrigramIndex.Page(List.of(2L, 1L), 42));
+            when(userRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(userSummary, adminSummary));
 
             // When
-            List<User> result = userService.searchUsersByEmail("user");
+            UserSearchPage result = userService.searchUsersByEmail("example", 1, 20);
 
             // Then
-            assertThat(result).hasSize(1);
-            assertThat(result).containsExactly(testUser);
-            verify(userRepository).findByEmailContainingIgnoreCase("user");
+            assertThat(result.getUsers()).containsExactly(adminSummary, userSummary);
+            assertThat(result.getTotal()).isEqualTo(42);
+            assertThat(result.hasMore()).isTrue();
+            verify(userRepository, never()).findByEmailContainingIgnoreCase(anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject a blank search term")
+        void shouldRejectBlankSearchTerm() {
+            // When & Then
+            assertThatThrownBy(() -> userService.searchUsersByEmail("  ", 0, 20))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Search term must not be blank");
+            verifyNoInteractions(userEmailSearch);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should serve repeated lookups by ID and email from the cache")
+        void shouldServeRepeatedLookupsFromCache() {
+            // Given
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+            // When
+            userService.findById(1L);
+            Optional<User> byId = userService.findById(1L);
+            Optional<User> byEmail = userService.findByEmail("user@example.com");
+            boolean exists = userService.existsByEmail("user@example.com");
+
+            // Then
+            assertThat(byId).isPresent();
+            assertThat(byEmail).isPresent();
+            assertThat(byEmail.get().getRoles()).containsExactly(Role.ROLE_USER);
+            assertThat(exists).isTrue();
+            verify(userRepository, times(1)).findById(1L);
+            verify(userRepository, never()).findByEmail(anyString());
+            verify(userRepository, never()).existsByEmail(anyString());
+        }
+
+        @Test
+        @DisplayName("Should serve an email lookup in another case from the cache")
+        void shouldServeEmailLookupIgnoringCase() {
+            // Given
+            when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser));
+            userService.findByEmail("user@example.com");
+
+            // When
+            Optional<User> result = userService.findByEmail(" User@Example.COM");
+
+            // Then
+            assertThat(result).get().extracting(User::getId).isEqualTo(1L);
+            verify(userRepository, times(1)).findByEmail(anyString());
+        }
+
+        @Test
+        @DisplayName("Should return copies that cannot corrupt the cache")
+        void shouldReturnDetachedCopies() {
+            // Given
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            User first = userService.findById(1L).orElseThrow();
+
+            // When
+            first.addRole(Role.ROLE_ADMIN);
+            first.setEmail("changed@example.com");
+
+            // Then
+            User second = userService.findById(1L).orElseThrow();
+            assertThat(second.getEmail()).isEqualTo("user@example.com");
+            assertThat(second.getRoles()).containsExactly(Role.ROLE_USER);
+        }
+
+        @Test
+        @DisplayName("Should evict on update so the next lookup reloads")
+        void shouldEvictOnUpdate() {
+            // Given
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.findRoleMaskById(1L)).thenReturn(Optional.of(Role.ROLE_USER.getBit()));
+            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            userService.findById(1L);
+
+            // When
+            userService.updateUser(testUser);
+            userService.findById(1L);
+
+            // Then
+            verify(userRepository, times(2)).findById(1L);
+        }
+
+        @Test
+        @DisplayName("Should evict old email when a user's email changes")
+        void shouldEvictOldEmailOnEmailChange() {
+            // Given
+            when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(testUser)).thenReturn(Optional.empty());
+            when(userRepository.findRoleMaskById(1L)).thenReturn(Optional.of(Role.ROLE_USER.getBit()));
+            User renamed = User.builder().id(1L).email("renamed@example.com").password("password123").build();
+            when(userRepository.save(any(User.class))).thenReturn(renamed);
+            userService.findByEmail("user@example.com");
+
+            // When
+            userService.updateUser(renamed);
+            Optional<User> result = userService.findByEmail("user@example.com");
+
+            // Then
+            assertThat(result).isEmpty();
+            verify(userRepository, times(2)).findByEmail("user@example.com");
+        }
+
+        @Test
+        @DisplayName("Should evict on delete")
+        void shouldEvictOnDelete() {
+            // Given
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser)).thenReturn(Optional.empty());
+            when(userRepository.deleteReturningRoleMask(1L)).thenReturn(Optional.of(Role.ROLE_USER.getBit()));
+            userService.findById(1L);
+
+            // When
+            userService.deleteUser(1L);
+
+            // Then
+            assertThat(userService.findById(1L)).isEmpty();
+            assertThat(userService.existsByEmail("user@example.com")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lookup Coalescing Tests")
+    class CoalescingTests {
+
+        private static final int CALLERS = 16;
+
+        @Test
+        @DisplayName("Should run exactly one query for a burst of concurrent lookups")
+        void shouldRunOneQueryPerBurst() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            when(userRepository.findByEmail("admin@example.com")).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return Optional.of(testAdmin);
+            });
+
+            // When
+            List<Future<Optional<User>>> results = burst(() -> userService.findByEmail("admin@example.com"), release);
+
+            // Then
+            for (Future<Optional<User>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).get()
+                        .extracting(User::getEmail).isEqualTo("admin@example.com");
+            }
+            assertThat(results.get(0).get()).isNotSameAs(results.get(1).get());
+            verify(userRepository, times(1)).findByEmail("admin@example.com");
+        }
+
+        @Test
+        @DisplayName("Should share a failed query's exception with every waiting caller")
+        void shouldShareFailure() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            when(userRepository.findById(2L)).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                throw new IllegalStateException("database unavailable");
+            });
+
+            // When
+            List<Future<Optional<User>>> results = burst(() -> userService.findById(2L), release);
+
+            // Then
+            for (Future<Optional<User>> result : results) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(IllegalStateException.class);
+            }
+            verify(userRepository, times(1)).findById(2L);
+        }
+
+        /**
+         * Start CALLERS concurrent lookups and hold the first one inside the repository until
+         * every other caller has joined it.
+         */
+        private List<Future<Optional<User>>> burst(Callable<Optional<User>> lookup, CountDownLatch release)
+                throws InterruptedException {
+            ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+            try {
+                long before = userCache.coalescedLoads();
+                List<Future<Optional<User>>> results = new ArrayList<>();
+                for (int i = 0; i < CALLERS; i++) {
+                    results.add(executor.submit(lookup));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (userCache.coalescedLoads() - before < CALLERS - 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                assertThat(userCache.coalescedLoads() - before).isEqualTo(CALLERS - 1);
+                release.countDown();
+                return results;
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Pagination Tests")
+    class PaginationTests {
+
+        @Test
+        @DisplayName("Should return a cursor that resumes after the last user of the page")
+        void shouldResumeAfterLastUser() {
+            // Given
+            when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                    .thenReturn(List.of(userSummary, adminSummary));
+            when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class)))
+                    .thenReturn(List.of(adminSummary));
+
+            // When
+            UserPage first = userService.findUsersPage(UserSort.ID_ASC, null, 1);
+            UserPage second = userService.findUsersPage(UserSort.ID_ASC, first.getNextCursor(), 1);
+
+            // Then
+            assertThat(first.getUsers()).containsExactly(userSummary);
+            assertThat(first.hasMore()).isTrue();
+            assertThat(second.getUsers()).containsExactly(adminSummary);
+            assertThat(second.hasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should cap the page size")
+        void shouldCapPageSize() {
+            // Given
+            when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+            // When
+            userService.findUsersPage(UserSort.ID_ASC, null, 10_000);
+
+            // Then
+            verify(userRepository).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.ofSize(UserService.MAX_PAGE_SIZE + 1));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursors and cursors issued for another sort")
+        void shouldRejectForeignCursor() {
+            // Given
+            when(userRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                    .thenReturn(List.of(userSummary, adminSummary));
+            String cursor = userService.findUsersPage(UserSort.ID_ASC, null, 1).getNextCursor();
+
+            // When & Then
+            assertThatThrownBy(() -> userService.findUsersPage(UserSort.ID_DESC, cursor, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> userService.findUsersPage(UserSort.ID_ASC, "not a cursor", 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
         }
     }
 }
@@ -0,0 +1,205 @@
+package com.authapp.backend.session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SessionStore.
+ * Drives expiry with a manually advanced clock.
+ */
+@DisplayName("SessionStore Tests")
+class SessionStoreTest {
+
+    private static final long TTL = 60_000L;
+    private static final long TICK = 1_000L;
+
+    private MutableClock clock;
+    private SessionStore sessionStore;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(1_700_000_000_000L);
+        sessionStore = new SessionStore(TTL, 8, TICK, clock);
+    }
+
+    @Nested
+    @DisplayName("Lifecycle Tests")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should validate a newly created session")
+        void shouldValidateNewSession() {
+            // When
+            Session session = sessionStore.create(1L, "user@example.com");
+
+            // Then
+            assertThat(sessionStore.isValid(session.getId())).isTrue();
+            assertThat(sessionStore.find(session.getId())).contains(session);
+            assertThat(session.getExpiresAt()).isEqualTo(clock.millis() + TTL);
+        }
+
+        @Test
+        @DisplayName("Should reject unknown and null session IDs")
+        void shouldRejectUnknownSessions() {
+            // Then
+            assertThat(sessionStore.isValid("unknown")).isFalse();
+            assertThat(sessionStore.isValid(null)).isFalse();
+            assertThat(sessionStore.invalidate(null)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should invalidate session on logout")
+        void shouldInvalidateSessionOnLogout() {
+            // Given
+            Session session = sessionStore.create(1L, "user@example.com");
+
+            // When
+            boolean removed = sessionStore.invalidate(session.getId());
+
+            // Then
+            assertThat(removed).isTrue();
+            assertThat(sessionStore.isValid(session.getId())).isFalse();
+            assertThat(sessionStore.invalidate(session.getId())).isFalse();
+            assertThat(sessionStore.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should reject expired session before it is swept")
+        void shouldRejectExpiredSessionBeforeSweep() {
+            // Given
+            Session session = sessionStore.create(1L, "user@example.com");
+
+            // When
+            clock.advance(TTL);
+
+            // Then
+            assertThat(sessionStore.isValid(session.getId())).isFalse();
+            assertThat(sessionStore.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should sweep sessions only once they expire")
+        void shouldSweepSessionsOnExpiry() {
+            // Given
+            Session first = sessionStore.create(1L, "first@example.com");
+            clock.advance(TTL / 2);
+            Session second = sessionStore.create(2L, "second@example.com");
+
+            // When
+            clock.advance(TTL / 2);
+            int firstSweep = sessionStore.expire();
+
+            // Then
+            assertThat(firstSweep).isEqualTo(1);
+            assertThat(sessionStore.isValid(first.getId())).isFalse();
+            assertThat(sessionStore.isValid(second.getId())).isTrue();
+
+            // When
+            clock.advance(TTL / 2);
+            int secondSweep = sessionStore.expire();
+
+            // Then
+            assertThat(secondSweep).isEqualTo(1);
+            assertThat(sessionStore.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should expire long-lived sessions across wheel levels")
+        void shouldExpireAcrossWheelLevels() {
+            // Given - a TTL spanning several levels of a 64-slot wheel
+            long ttl = 24 * 60 * 60 * 1000L;
+            SessionStore store = new SessionStore(ttl, 4, TICK, clock);
+            List<Session> sessions = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                sessions.add(store.create((long) i, "user" + i + "@example.com"));
+                clock.advance(37_000L);
+            }
+
+            // When - sweep up to just before the first expiry
+            clock.set(sessions.get(0).getExpiresAt() - 1);
+            int early = store.expire();
+
+            // Then
+            assertThat(early).isZero();
+            assertThat(store.size()).isEqualTo(100);
+
+            // When - sweep past the last expiry
+            clock.set(sessions.get(99).getExpiresAt() + TICK);
+            int late = store.expire();
+
+            // Then
+            assertThat(late).isEqualTo(100);
+            assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not expire a session after it was logged out")
+        void shouldNotExpireLoggedOutSession() {
+            // Given
+            Session session = sessionStore.create(1L, "user@example.com");
+            sessionStore.invalidate(session.getId());
+
+            // When
+            clock.advance(TTL + TICK);
+
+            // Then
+            assertThat(sessionStore.expire()).isZero();
+        }
+    }
+
+    /**
+     * Clock whose time only moves when the test says so.
+     */
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        void set(long value) {
+            millis = value;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -53,9 +53,13 @@ export const authService = {
 
 // User Management Service
 export const userService = {
-  // Get all users
-  async getAllUsers() {
-    const response = await apiClient.get('/test/users')
+  // Get one page of users; pass the previous page's nextCursor to continue
+  async getUsersPage({ cursor = null, size = 50, sort = 'id', direction = 'asc' } = {}) {
+    const params = { size, sort, direction }
+    if (cursor) {
+      params.cursor = cursor
+    }
+    const response = await apiClient.get('/test/users', { params })
     return response.data
   },
 
@@ -71,6 +75,12 @@ export const userService = {
     return response.data
   },
 
+  // Suggest emails starting with the typed prefix
+  async autocompleteEmails(prefix, limit = 10) {
+    const response = await apiClient.get('/test/users/autocomplete', { params: { prefix, limit } })
+    return response.data
+  },
+
   // Create new user
   async createUser(userData) {
     const response = await apiClient.post('/test/users', userData)
@@ -45,6 +45,10 @@ export const useAuthStore = defineStore('auth', () => {
         localStorage.setItem('auth_user', JSON.stringify(user.value))
         localStorage.setItem('auth_session_id', sessionId.value)
         localStorage.setItem('auth_session_expiry', sessionExpiry.value)
+        // Sent as the bearer token by the API client; admin-only routes require it
+        if (response.token) {
+          localStorage.setItem('authToken', response.token)
+        }
 
         successMessage.value = 'Login successful! Welcome back.'
         console.log('✅ Login successful for user:', user.value.email)
@@ -84,6 +88,7 @@ export const useAuthStore = defineStore('auth', () => {
       localStorage.removeItem('auth_user')
       localStorage.removeItem('auth_session_id')
       localStorage.removeItem('auth_session_expiry')
+      localStorage.removeItem('authToken')
 
       console.log('✅ Logout successful')
       return true
@@ -168,6 +173,7 @@ export const useAuthStore = defineStore('auth', () => {
     localStorage.removeItem('auth_user')
     localStorage.removeItem('auth_session_id')
     localStorage.removeItem('auth_session_expiry')
+    localStorage.removeItem('authToken')
   }
 
   function clearMessages() {
@@ -35,7 +35,16 @@ export const useSystemStore = defineStore('system', {
     
     // Get total users count
     totalUsers: (state) => {
-      return state.health?.totalUsers || state.stats?.totalUsers || 0
+      return state.stats?.totalUsers ?? state.health?.totalUsers ?? 0
+    },
+
+    // Get admin and regular user counts
+    adminUsers: (state) => {
+      return state.stats?.adminUsers || 0
+    },
+
+    regularUsers: (state) => {
+      return state.stats?.regularUsers || 0
     },
     
     // Get database info
@@ -6,6 +6,7 @@ export const useUserStore = defineStore('user', {
   state: () => ({
     // Users list
     users: [],
+    usersNextCursor: null,
     usersLoading: false,
     usersError: null,
     
@@ -24,6 +25,9 @@ export const useUserStore = defineStore('user', {
     // Get users count
     usersCount: (state) => state.users.length,
     
+    // Whether more pages of users can be loaded
+    hasMoreUsers: (state) => state.usersNextCursor !== null,
+    
     // Get users by role
     usersByRole: (state) => (role) => {
       return state.users.filter(user => 
@@ -48,13 +52,15 @@ export const useUserStore = defineStore('user', {
   },
 
   actions: {
-    // Fetch all users
+    // Fetch the first page of users
     async fetchUsers() {
       this.usersLoading = true
       this.usersError = null
       
       try {
-        this.users = await userService.getAllUsers()
+        const page = await userService.getUsersPage()
+        this.users = page.items
+        this.usersNextCursor = page.nextCursor
         
         console.log('👥 Users loaded:', this.users.length)
       } catch (error) {
@@ -66,6 +72,29 @@ export const useUserStore = defineStore('user', {
       }
     },
 
+    // Append the next page of users
+    async fetchMoreUsers() {
+      if (!this.usersNextCursor) {
+        return
+      }
+      this.usersLoading = true
+      this.usersError = null
+      
+      try {
+        const page = await userService.getUsersPage({ cursor: this.usersNextCursor })
+        this.users.push(...page.items)
+        this.usersNextCursor = page.nextCursor
+        
+        console.log('👥 More users loaded:', page.items.length)
+      } catch (error) {
+        this.usersError = apiUtils.getErrorMessage(error)
+        
+        console.error('👥 Users fetch failed:', error)
+      } finally {
+        this.usersLoading = false
+      }
+    },
+
     // Fetch user by ID
     async fetchUser(id) {
       this.selectedUserLoading = true
@@ -207,6 +236,7 @@ export const useUserStore = defineStore('user', {
     // Reset all state
     reset() {
       this.users = []
+      this.usersNextCursor = null
       this.usersLoading = false
       this.usersError = null
       this.selectedUser = null